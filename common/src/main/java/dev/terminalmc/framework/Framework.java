@@ -12,40 +12,141 @@
 package dev.terminalmc.framework;
 
 import com.mojang.blaze3d.platform.InputConstants;
+import com.mojang.brigadier.CommandDispatcher;
+import dev.terminalmc.framework.command.ChatOutput;
+import dev.terminalmc.framework.command.Commands;
 import dev.terminalmc.framework.config.Config;
+import dev.terminalmc.framework.config.SharedConfig;
+import dev.terminalmc.framework.event.FrameworkEvents;
 import dev.terminalmc.framework.gui.screen.ConfigScreenProvider;
+import dev.terminalmc.framework.util.JfrEvents;
+import dev.terminalmc.framework.util.KeyBindings;
+import dev.terminalmc.framework.util.Localization;
+import dev.terminalmc.framework.util.Metrics;
 import dev.terminalmc.framework.util.ModLogger;
+import dev.terminalmc.framework.util.StartupTrace;
+import dev.terminalmc.framework.util.TickScheduler;
+import dev.terminalmc.framework.util.WorkerPool;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.Minecraft;
+import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.network.chat.Component;
 
-import static dev.terminalmc.framework.util.Localization.translationKey;
+import java.util.function.Consumer;
+
+import static dev.terminalmc.framework.util.TranslationKeys.*;
 
 public class Framework {
     public static final String MOD_ID = "framework";
     public static final String MOD_NAME = "Framework";
     public static final ModLogger LOG = new ModLogger(MOD_NAME);
-    public static final Component PREFIX = Component.empty()
-            .append(Component.literal("[").withStyle(ChatFormatting.DARK_GRAY))
-            .append(Component.literal(MOD_NAME).withStyle(ChatFormatting.GOLD))
-            .append(Component.literal("] ").withStyle(ChatFormatting.DARK_GRAY))
-            .withStyle(ChatFormatting.GRAY);
-    public static final KeyMapping EXAMPLE_KEY = new KeyMapping(
-            translationKey("key", "group.example"), InputConstants.Type.KEYSYM,
-            InputConstants.UNKNOWN.getValue(), translationKey("key", "group"));
+    public static final ModLogger CONFIG_LOG = LOG.child("config");
+    public static final ModLogger GUI_LOG = LOG.child("gui");
+    public static final ModLogger COMMAND_LOG = LOG.child("command");
+    public static final ModLogger TICK_LOG = LOG.child("tick");
+    public static final TickScheduler SCHEDULER = new TickScheduler(2_000_000);
+    private static final int SUPPRESSED_LOG_INTERVAL = 200;
+    private static Component prefix = null;
+
+    /**
+     * Key mappings. Held separately so that they are created when first
+     * registered with the loader, rather than when {@link Framework} is
+     * loaded.
+     */
+    public static class Keys {
+        public static final KeyBindings REGISTRY = new KeyBindings();
+        public static final KeyMapping EXAMPLE = REGISTRY.register(new KeyMapping(
+                KEY_GROUP_EXAMPLE, InputConstants.Type.KEYSYM,
+                InputConstants.UNKNOWN.getValue(), KEY_GROUP),
+                (mc) -> mc.setScreen(ConfigScreenProvider.getConfigScreen(mc.screen)));
+    }
 
+    /**
+     * Called during mod construction. Only starts loading the config, which
+     * is completed on first use.
+     */
     public static void init() {
-        Config.getAndSave();
+        long start = System.nanoTime();
+        registerListeners();
+        Config.loadAsync();
+        SCHEDULER.scheduleRepeating(TickScheduler.Priority.LOW, SUPPRESSED_LOG_INTERVAL,
+                SUPPRESSED_LOG_INTERVAL, ModLogger::flushSuppressed);
+        StartupTrace.end("Framework.init", start);
+        LOG.info("Initialized in {} ms", millisSince(start));
+    }
+
+    /**
+     * Subscribes to {@link FrameworkEvents}. Called before the loader fires
+     * any of them.
+     */
+    private static void registerListeners() {
+        FrameworkEvents.REGISTER_KEY_MAPPINGS.register(Framework::registerKeyMappings);
+        FrameworkEvents.REGISTER_COMMANDS.register(Framework::registerCommands);
+        FrameworkEvents.RESOURCE_RELOAD.register(Localization::invalidate);
+        FrameworkEvents.END_TICK.register(Framework::onEndTick);
+        FrameworkEvents.CLIENT_STOP.register(Framework::onClientStop);
+    }
+
+    private static void registerKeyMappings(Consumer<KeyMapping> registrar) {
+        long start = System.nanoTime();
+        Keys.REGISTRY.mappings().forEach(registrar);
+        StartupTrace.end("Framework.registerKeyMappings", start);
+        LOG.debug("Registered key mappings in {} ms", millisSince(start));
+    }
+
+    private static void registerCommands(CommandDispatcher<?> dispatcher,
+                                         CommandBuildContext buildContext) {
+        registerCommandsAs(dispatcher, buildContext);
     }
 
-    public static void onEndTick(Minecraft mc) {
-        while (EXAMPLE_KEY.consumeClick()) {
-            mc.setScreen(ConfigScreenProvider.getConfigScreen(mc.screen));
+    /**
+     * Captures the loader's command source type, which differs between
+     * loaders.
+     */
+    private static <S> void registerCommandsAs(CommandDispatcher<S> dispatcher,
+                                               CommandBuildContext buildContext) {
+        new Commands<S>().register(dispatcher, buildContext);
+    }
+
+    public static Component prefix() {
+        if (prefix == null) {
+            prefix = Component.empty()
+                    .append(Component.literal("[").withStyle(ChatFormatting.DARK_GRAY))
+                    .append(Component.literal(MOD_NAME).withStyle(ChatFormatting.GOLD))
+                    .append(Component.literal("] ").withStyle(ChatFormatting.DARK_GRAY))
+                    .withStyle(ChatFormatting.GRAY);
         }
+        return prefix;
+    }
+
+    private static void onEndTick(Minecraft mc) {
+        long start = Metrics.TICK.start();
+        JfrEvents.Tick event = new JfrEvents.Tick();
+        event.begin();
+        Keys.REGISTRY.tick(mc);
+        ChatOutput.flush(mc);
+        Config.pollShared();
+        SCHEDULER.tick();
+        event.commit();
+        Metrics.TICK.stop(start);
+    }
+
+    private static void onClientStop() {
+        // Drain background work before flushing any pending config write
+        WorkerPool.shutdown();
+        Config.flush();
+        SharedConfig.close();
+        StartupTrace.write();
+        ModLogger.flushSuppressed();
+        ModLogger.disableAsync();
     }
 
     public static void onConfigSaved(Config config) {
         // If you are maintaining caches based on config values, update them here.
     }
+
+    public static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000D;
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.command;
+
+import com.mojang.brigadier.Command;
+import dev.terminalmc.framework.Framework;
+import dev.terminalmc.framework.util.WorkerPool;
+import net.minecraft.ChatFormatting;
+import net.minecraft.client.Minecraft;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static dev.terminalmc.framework.util.Localization.translatable;
+import static dev.terminalmc.framework.util.TranslationKeys.*;
+
+/**
+ * Runs the heavy part of a command off the client thread.
+ *
+ * <p>Jobs run on the {@link WorkerPool}, at most {@link #MAX_JOBS} at a time.
+ * Results are handed back to the client thread via {@link Minecraft#execute},
+ * progress is shown on the action bar, and running jobs can be cancelled with
+ * {@code /framework cancel}.</p>
+ */
+public class AsyncCommand {
+    public static final int MAX_JOBS = 4;
+    private static final long PROGRESS_INTERVAL_MS = 250;
+
+    private static final Set<Progress> RUNNING = ConcurrentHashMap.newKeySet();
+
+    @FunctionalInterface
+    public interface Job<T> {
+        /**
+         * Runs the job off the client thread.
+         *
+         * <p>Long-running jobs should call {@link Progress#update} and
+         * {@link Progress#checkCancelled} periodically.</p>
+         */
+        T run(Progress progress) throws Exception;
+    }
+
+    /**
+     * Submits {@code job} to the worker pool.
+     * @param name the display name of the job.
+     * @param job the work to run off the client thread.
+     * @param onComplete consumes the result on the client thread.
+     * @return {@link Command#SINGLE_SUCCESS}, so that command lambdas can
+     * return the result of this method directly.
+     */
+    public static <T> int submit(String name, Job<T> job, Consumer<T> onComplete) {
+        if (RUNNING.size() >= MAX_JOBS) {
+            ChatOutput.send(translatable(MESSAGE_ASYNC_BUSY).withStyle(ChatFormatting.RED));
+            return Command.SINGLE_SUCCESS;
+        }
+        Progress progress = new Progress(name);
+        RUNNING.add(progress);
+        WorkerPool.run(() -> {
+            try {
+                progress.start();
+                T result = job.run(progress);
+                progress.checkCancelled();
+                WorkerPool.mainThread().execute(() -> {
+                    // May have been cancelled after the job's last check
+                    if (progress.isCancelled()) {
+                        Framework.COMMAND_LOG.debug("Command task '{}' cancelled", name);
+                        return;
+                    }
+                    onComplete.accept(result);
+                });
+            } catch (CancellationException | InterruptedException e) {
+                Framework.COMMAND_LOG.debug("Command task '{}' cancelled", name);
+            } catch (Exception e) {
+                Framework.COMMAND_LOG.error("Command task '{}' failed", name, e);
+                ChatOutput.send(translatable(MESSAGE_ASYNC_FAILED, name, e.getMessage())
+                        .withStyle(ChatFormatting.RED));
+            } finally {
+                // Only removed once the job has exited, so that cancelled
+                // jobs still count towards MAX_JOBS until they stop
+                progress.finish();
+                RUNNING.remove(progress);
+            }
+        }).exceptionally((e) -> {
+            // Rejected by the pool
+            RUNNING.remove(progress);
+            ChatOutput.send(translatable(MESSAGE_ASYNC_BUSY).withStyle(ChatFormatting.RED));
+            return null;
+        });
+        return Command.SINGLE_SUCCESS;
+    }
+
+    /**
+     * Cancels all queued and running jobs. Running jobs are interrupted, and
+     * stop at their next {@link Progress#checkCancelled}.
+     * @return the number of jobs cancelled.
+     */
+    public static int cancelAll() {
+        int count = 0;
+        for (Progress progress : RUNNING) {
+            if (progress.cancel()) count++;
+        }
+        return count;
+    }
+
+    public static class Progress {
+        private final String name;
+        private volatile boolean cancelled = false;
+        private Thread thread = null;
+        private long lastUpdate = 0;
+
+        private Progress(String name) {
+            this.name = name;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @throws CancellationException if the job has been cancelled.
+         */
+        public void checkCancelled() {
+            if (cancelled || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException(name);
+            }
+        }
+
+        /**
+         * Shows the progress of the job on the action bar. Calls are
+         * throttled, so this may be called for every unit of work.
+         */
+        public void update(long done, long total) {
+            long now = System.currentTimeMillis();
+            if (done < total && now - lastUpdate < PROGRESS_INTERVAL_MS) return;
+            lastUpdate = now;
+            Minecraft mc = Minecraft.getInstance();
+            mc.execute(() -> mc.gui.setOverlayMessage(
+                    translatable(MESSAGE_ASYNC_PROGRESS, name, done, total), false));
+        }
+
+        /**
+         * Records the worker thread, so that it can be interrupted.
+         * @throws CancellationException if the job was cancelled while
+         * queued.
+         */
+        private synchronized void start() {
+            checkCancelled();
+            thread = Thread.currentThread();
+        }
+
+        /**
+         * Forgets the worker thread, and clears any interrupt meant for the
+         * job so that it does not affect the next task on the thread.
+         */
+        private synchronized void finish() {
+            if (thread != null) Thread.interrupted();
+            thread = null;
+        }
+
+        /**
+         * @return {@code true} if the job was not already cancelled.
+         */
+        private synchronized boolean cancel() {
+            if (cancelled) return false;
+            cancelled = true;
+            if (thread != null) thread.interrupt();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.command;
+
+import dev.terminalmc.framework.util.Metrics;
+import net.minecraft.ChatFormatting;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.terminalmc.framework.util.Localization.prefixed;
+import static dev.terminalmc.framework.util.Localization.translatable;
+import static dev.terminalmc.framework.util.TranslationKeys.MESSAGE_MORE_LINES;
+
+/**
+ * Queues command output and adds it to the chat once per tick, merging all
+ * lines queued in the tick into a single prefixed message.
+ *
+ * <p>At most {@link #MAX_LINES_PER_TICK} lines are shown per tick, and at
+ * most {@link #MAX_PENDING} lines are held. Lines beyond that limit are
+ * dropped and summarized by a single "N more lines" line.</p>
+ *
+ * <p>Lines may be sent from any thread.</p>
+ */
+public class ChatOutput {
+    public static final int MAX_LINES_PER_TICK = 20;
+    public static final int MAX_PENDING = 200;
+
+    private static final Queue<Component> QUEUE = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger PENDING = new AtomicInteger();
+    private static final AtomicInteger DROPPED = new AtomicInteger();
+
+    public static void send(Component line) {
+        if (PENDING.incrementAndGet() > MAX_PENDING) {
+            PENDING.decrementAndGet();
+            DROPPED.incrementAndGet();
+            Metrics.CHAT_DROPPED.increment();
+            return;
+        }
+        QUEUE.add(line);
+    }
+
+    public static void send(String line) {
+        send(Component.literal(line));
+    }
+
+    /**
+     * Adds queued lines to the chat. Called at the end of each client tick.
+     */
+    public static void flush(Minecraft mc) {
+        if (PENDING.get() == 0 && DROPPED.get() == 0) return;
+
+        MutableComponent msg = null;
+        Component line;
+        for (int i = 0; i < MAX_LINES_PER_TICK && (line = QUEUE.poll()) != null; i++) {
+            PENDING.decrementAndGet();
+            if (msg == null) msg = prefixed(line);
+            else msg.append("\n").append(line);
+        }
+
+        if (QUEUE.isEmpty()) {
+            int dropped = DROPPED.getAndSet(0);
+            if (dropped > 0) {
+                Component summary = translatable(MESSAGE_MORE_LINES, dropped)
+                        .withStyle(ChatFormatting.ITALIC);
+                if (msg == null) msg = prefixed(summary);
+                else msg.append("\n").append(summary);
+            }
+        }
+
+        if (msg != null) mc.gui.getChat().addMessage(msg);
+    }
+}
@@ -15,70 +15,348 @@ import com.mojang.brigadier.Command;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.tree.LiteralCommandNode;
 import dev.terminalmc.framework.Framework;
+import dev.terminalmc.framework.config.Config;
+import dev.terminalmc.framework.config.ConfigHistory;
+import dev.terminalmc.framework.gui.overlay.ProfilerOverlay;
+import dev.terminalmc.framework.util.Benchmark;
+import dev.terminalmc.framework.util.FrameProfiler;
+import dev.terminalmc.framework.util.JfrEvents;
+import dev.terminalmc.framework.util.Metrics;
+import dev.terminalmc.framework.util.ModLogger;
+import dev.terminalmc.framework.util.StartupTrace;
 import net.minecraft.ChatFormatting;
-import net.minecraft.client.Minecraft;
 import net.minecraft.commands.CommandBuildContext;
-import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.commands.arguments.ColorArgument;
 import net.minecraft.commands.arguments.item.ItemArgument;
 import net.minecraft.network.chat.Component;
-import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.world.item.Item;
+import org.apache.logging.log4j.Level;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static dev.terminalmc.framework.util.Localization.translatable;
+import static dev.terminalmc.framework.util.TranslationKeys.*;
 import static net.minecraft.commands.Commands.argument;
 import static net.minecraft.commands.Commands.literal;
 
 @SuppressWarnings("unchecked")
 public class Commands<S> extends CommandDispatcher<S> {
+    /**
+     * Nodes which do not depend on the {@link CommandBuildContext}. These are
+     * built once and shared by every registration, as the loaders fire
+     * command registration again on each world or server join.
+     */
+    private static Nodes<?> nodes = null;
+
+    private record Nodes<S>(LiteralCommandNode<S> quote,
+                            LiteralCommandNode<S> nameColor,
+                            LiteralCommandNode<S> cancel,
+                            LiteralCommandNode<S> perf,
+                            LiteralCommandNode<S> bench,
+                            LiteralCommandNode<S> log,
+                            LiteralCommandNode<S> profiler,
+                            LiteralCommandNode<S> exportList,
+                            LiteralCommandNode<S> importList,
+                            LiteralCommandNode<S> history,
+                            LiteralCommandNode<S> config) {
+    }
+
     public void register(CommandDispatcher<S> dispatcher, CommandBuildContext buildContext) {
-        Minecraft mc = Minecraft.getInstance();
-        dispatcher.register((LiteralArgumentBuilder<S>)literal(Framework.MOD_ID)
-                .then(literal("quote")
-                        .then(argument("word", StringArgumentType.word())
-                                .suggests(((ctx, builder) -> SharedSuggestionProvider.suggest(
-                                        List.of("Hello", "World"), builder)))
-                                .executes(ctx -> {
-                                    String word = StringArgumentType.getString(ctx, "word");
-
-                                    MutableComponent msg = Framework.PREFIX.copy();
-                                    msg.append(word);
-
-                                    mc.gui.getChat().addMessage(msg);
-                                    return Command.SINGLE_SUCCESS;
-                                })
-                        )
-                )
-                .then(literal("name")
-                        .then(literal("item")
+        long start = StartupTrace.begin();
+        Nodes<S> nodes = getNodes();
+        dispatcher.register(((LiteralArgumentBuilder<S>)literal(Framework.MOD_ID))
+                .then(nodes.quote())
+                .then(((LiteralArgumentBuilder<S>)literal("name"))
+                        .then((LiteralArgumentBuilder<S>)literal("item")
                                 .then(argument("item", ItemArgument.item(buildContext))
-                                        .executes(ctx -> {
+                                        .executes(timed(ctx -> {
                                             Item item = ItemArgument.getItem(ctx, "item").getItem();
 
-                                            MutableComponent msg = Framework.PREFIX.copy();
-                                            msg.append(item.getDescription());
-
-                                            mc.gui.getChat().addMessage(msg);
-                                            return Command.SINGLE_SUCCESS;
-                                        })
-                                )
-                        )
-                        .then(literal("color")
-                                .then(argument("color", ColorArgument.color())
-                                        .executes(ctx -> {
-                                            ChatFormatting color = ColorArgument.getColor(ctx, "color");
-
-                                            MutableComponent msg = Framework.PREFIX.copy();
-                                            msg.append(Component.literal(color.getName()).withStyle(color));
-
-                                            mc.gui.getChat().addMessage(msg);
+                                            ChatOutput.send(item.getDescription());
                                             return Command.SINGLE_SUCCESS;
-                                        })
+                                        }))
                                 )
                         )
+                        .then(nodes.nameColor())
                 )
+                .then(nodes.cancel())
+                .then(nodes.perf())
+                .then(nodes.bench())
+                .then(nodes.log())
+                .then(nodes.profiler())
+                .then(nodes.exportList())
+                .then(nodes.importList())
+                .then(nodes.history())
+                .then(nodes.config())
         );
+        StartupTrace.end("Commands.register", start);
+    }
+
+    private static <S> Nodes<S> getNodes() {
+        if (nodes == null) {
+            nodes = new Nodes<>(
+                    ((LiteralArgumentBuilder<S>)literal("quote")
+                            .then(argument("word", StringArgumentType.word())
+                                    .suggests(SortedSuggestionProvider.of("Hello", "World"))
+                                    .executes(timed(ctx -> {
+                                        String word = StringArgumentType.getString(ctx, "word");
+
+                                        ChatOutput.send(word);
+                                        return Command.SINGLE_SUCCESS;
+                                    }))
+                            )).build(),
+                    ((LiteralArgumentBuilder<S>)literal("color")
+                            .then(argument("color", ColorArgument.color())
+                                    .executes(timed(ctx -> {
+                                        ChatFormatting color = ColorArgument.getColor(ctx, "color");
+
+                                        ChatOutput.send(Component.literal(color.getName()).withStyle(color));
+                                        return Command.SINGLE_SUCCESS;
+                                    }))
+                            )).build(),
+                    ((LiteralArgumentBuilder<S>)literal("cancel")
+                            .executes(timed(ctx -> {
+                                int count = AsyncCommand.cancelAll();
+
+                                ChatOutput.send(translatable(MESSAGE_ASYNC_CANCELLED, count));
+                                return Command.SINGLE_SUCCESS;
+                            }))).build(),
+                    ((LiteralArgumentBuilder<S>)literal("perf")
+                            .executes(timed(ctx -> {
+                                sendMetrics();
+                                return Command.SINGLE_SUCCESS;
+                            }))
+                            .then(literal("reset")
+                                    .executes(timed(ctx -> {
+                                        Metrics.reset();
+
+                                        ChatOutput.send(translatable(MESSAGE_PERF_RESET));
+                                        return Command.SINGLE_SUCCESS;
+                                    }))
+                            )).build(),
+                    ((LiteralArgumentBuilder<S>)literal("bench")
+                            .then(argument("target", StringArgumentType.word())
+                                    .suggests(SortedSuggestionProvider.of(Arrays.stream(
+                                            Benchmark.Target.values()).map(Benchmark.Target::id).toList()))
+                                    .executes(timed(ctx -> {
+                                        String id = StringArgumentType.getString(ctx, "target");
+
+                                        Benchmark.Target.byId(id).ifPresentOrElse(Benchmark::start,
+                                                () -> ChatOutput.send(translatable(MESSAGE_BENCH_UNKNOWN, id)
+                                                        .withStyle(ChatFormatting.RED)));
+                                        return Command.SINGLE_SUCCESS;
+                                    }))
+                            )).build(),
+                    ((LiteralArgumentBuilder<S>)literal("log")
+                            .executes(timed(ctx -> {
+                                sendLogLevels();
+                                return Command.SINGLE_SUCCESS;
+                            }))
+                            .then(argument("logger", StringArgumentType.word())
+                                    .suggests(SortedSuggestionProvider.lazy(() -> ModLogger.loggers()
+                                            .stream().map(ModLogger::id).toList()))
+                                    .then(argument("level", StringArgumentType.word())
+                                            .suggests(SortedSuggestionProvider.of(Arrays.stream(Level.values())
+                                                    .map((l) -> l.name().toLowerCase(Locale.ROOT)).toList()))
+                                            .executes(timed(ctx -> {
+                                                String id = StringArgumentType.getString(ctx, "logger");
+                                                String name = StringArgumentType.getString(ctx, "level");
+                                                Level level = Level.toLevel(name, null);
+
+                                                if (level == null) {
+                                                    ChatOutput.send(translatable(MESSAGE_LOG_UNKNOWN_LEVEL, name)
+                                                            .withStyle(ChatFormatting.RED));
+                                                    return 0;
+                                                }
+                                                ModLogger.byId(id).ifPresentOrElse((logger) -> {
+                                                    logger.setLevel(level);
+                                                    ChatOutput.send(translatable(MESSAGE_LOG_LEVEL, id, level.name()));
+                                                }, () -> ChatOutput.send(translatable(MESSAGE_LOG_UNKNOWN, id)
+                                                        .withStyle(ChatFormatting.RED)));
+                                                return Command.SINGLE_SUCCESS;
+                                            }))
+                                    )
+                            )).build(),
+                    ((LiteralArgumentBuilder<S>)literal("profiler")
+                            .executes(timed(ctx -> {
+                                sendProfile();
+                                return Command.SINGLE_SUCCESS;
+                            }))
+                            .then(literal("overlay")
+                                    .executes(timed(ctx -> {
+                                        ChatOutput.send(translatable(ProfilerOverlay.toggle()
+                                                ? MESSAGE_PROFILER_OVERLAY_ON
+                                                : MESSAGE_PROFILER_OVERLAY_OFF));
+                                        return Command.SINGLE_SUCCESS;
+                                    }))
+                            )).build(),
+                    ((LiteralArgumentBuilder<S>)literal("export")
+                            .then(argument("file", StringArgumentType.word())
+                                    .executes(timed(ctx -> {
+                                        String name = StringArgumentType.getString(ctx, "file");
+                                        ObjectListTransfer.Format format = transferFormat(name);
+                                        if (format == null) return 0;
+                                        // Snapshot on the client thread, copying each object as
+                                        // the GUI edits them in place
+                                        List<Config.CustomObject> objects = new ArrayList<>();
+                                        for (Config.CustomObject object : Config.options().customObjectList) {
+                                            objects.add(object == null ? null
+                                                    : new Config.CustomObject(object.name, object.size));
+                                        }
+                                        Path file = ObjectListTransfer.DIR_PATH.resolve(name);
+
+                                        return AsyncCommand.submit("Export",
+                                                (progress) -> ObjectListTransfer.export(
+                                                        objects, file, format, progress),
+                                                (count) -> ChatOutput.send(
+                                                        translatable(MESSAGE_EXPORT_DONE, count, name)));
+                                    }))
+                            )).build(),
+                    ((LiteralArgumentBuilder<S>)literal("import")
+                            .then(argument("file", StringArgumentType.word())
+                                    .executes(timed(ctx -> {
+                                        String name = StringArgumentType.getString(ctx, "file");
+                                        ObjectListTransfer.Format format = transferFormat(name);
+                                        if (format == null) return 0;
+                                        Path file = ObjectListTransfer.DIR_PATH.resolve(name);
+
+                                        return AsyncCommand.submit("Import",
+                                                (progress) -> ObjectListTransfer.importFrom(
+                                                        file, format, progress),
+                                                (result) -> {
+                                                    // Single update of the config
+                                                    Config.options().customObjectList =
+                                                            new ArrayList<>(result.objects());
+                                                    Config.saveAsync();
+                                                    ChatOutput.send(translatable(MESSAGE_IMPORT_DONE,
+                                                            result.objects().size(), name, result.rejected()));
+                                                });
+                                    }))
+                            )).build(),
+                    ((LiteralArgumentBuilder<S>)literal("history")
+                            .executes(timed(ctx -> {
+                                sendHistory();
+                                return Command.SINGLE_SUCCESS;
+                            }))
+                            .then(literal("undo")
+                                    .executes(timed(ctx -> restoreVersion(ConfigHistory::undo)))
+                            )
+                            .then(literal("redo")
+                                    .executes(timed(ctx -> restoreVersion(ConfigHistory::redo)))
+                            )).build(),
+                    ((LiteralArgumentBuilder<S>)literal("config")
+                            .then(literal("export")
+                                    .executes(timed(ctx -> {
+                                        // Copied on the client thread, and serialized as plain JSON
+                                        // on the worker, even if the config file is compressed
+                                        Config snapshot = Config.snapshot();
+
+                                        return AsyncCommand.submit("Config export",
+                                                (progress) -> Config.exportJson(snapshot),
+                                                (file) -> ChatOutput.send(
+                                                        translatable(MESSAGE_CONFIG_EXPORTED, file.toString())));
+                                    }))
+                            )).build()
+            );
+        }
+        return (Nodes<S>)nodes;
+    }
+
+    /**
+     * Wraps {@code command} to record its execution time.
+     */
+    private static <S> Command<S> timed(Command<S> command) {
+        return (ctx) -> {
+            long start = Metrics.COMMAND.start();
+            JfrEvents.Command event = new JfrEvents.Command();
+            event.begin();
+            try {
+                event.result = command.run(ctx);
+                return event.result;
+            } finally {
+                if (event.shouldCommit()) {
+                    event.input = ctx.getInput();
+                    event.commit();
+                }
+                Metrics.COMMAND.stop(start);
+            }
+        };
+    }
+
+    /**
+     * Applies an undo or redo to the live options, and saves them.
+     */
+    private static int restoreVersion(Function<Config.Options, ConfigHistory.Snapshot> operation) {
+        ConfigHistory.Snapshot snapshot = operation.apply(Config.options());
+        if (snapshot == null) {
+            ChatOutput.send(translatable(MESSAGE_HISTORY_EMPTY).withStyle(ChatFormatting.RED));
+            return 0;
+        }
+        Config.saveAsync();
+        ChatOutput.send(translatable(MESSAGE_HISTORY_RESTORED, snapshot.version()));
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static void sendHistory() {
+        List<ConfigHistory.Snapshot> versions = ConfigHistory.versions();
+        ChatOutput.send(translatable(MESSAGE_HISTORY_HEADER, versions.size(), ConfigHistory.redoSize()));
+        for (int i = 0; i < versions.size(); i++) {
+            ConfigHistory.Snapshot version = versions.get(i);
+            String changes = i == 0 ? "" : String.join(", ", version.diff(versions.get(i - 1)));
+            ChatOutput.send(String.format("v%d %tT %s", version.version(), version.time(), changes));
+        }
+    }
+
+    private static ObjectListTransfer.Format transferFormat(String fileName) {
+        return ObjectListTransfer.Format.of(fileName).orElseGet(() -> {
+            ChatOutput.send(translatable(MESSAGE_TRANSFER_FORMAT, fileName)
+                    .withStyle(ChatFormatting.RED));
+            return null;
+        });
+    }
+
+    private static void sendLogLevels() {
+        ChatOutput.send(translatable(MESSAGE_LOG_LEVELS, ModLogger.loggers().stream()
+                .map((l) -> l.id() + "=" + l.getLevel().name())
+                .collect(Collectors.joining(", "))));
+    }
+
+    private static void sendProfile() {
+        ChatOutput.send(translatable(MESSAGE_PROFILER_HEADER,
+                FrameProfiler.FRAME.size(), FrameProfiler.TICK.size()));
+        for (FrameProfiler.Series series : new FrameProfiler.Series[]{
+                FrameProfiler.FRAME, FrameProfiler.TICK}) {
+            series.summarize();
+            ChatOutput.send(String.format("%s: p50 %.3f, p90 %.3f, p99 %.3f, max %.3f ms",
+                    series.name(), series.percentile(0.5) / 1e6, series.percentile(0.9) / 1e6,
+                    series.percentile(0.99) / 1e6, series.max() / 1e6));
+        }
+    }
+
+    private static void sendMetrics() {
+        double seconds = Metrics.elapsedSeconds();
+        ChatOutput.send(translatable(MESSAGE_PERF_HEADER, String.format("%.1f", seconds)));
+        for (Metrics.Timer timer : Metrics.timers()) {
+            long count = timer.count();
+            if (count == 0) continue;
+            ChatOutput.send(String.format(
+                    "%s: %d (%.2f/s) p50 %.3f, p90 %.3f, p99 %.3f, max %.3f ms",
+                    timer.name(), count, count / seconds,
+                    timer.percentile(0.5) / 1e6, timer.percentile(0.9) / 1e6,
+                    timer.percentile(0.99) / 1e6, timer.maxNanos() / 1e6));
+        }
+        for (Metrics.Counter counter : Metrics.counters()) {
+            long count = counter.get();
+            if (count == 0) continue;
+            ChatOutput.send(String.format("%s: %d (%.2f/s)", counter.name(), count, count / seconds));
+        }
     }
 }
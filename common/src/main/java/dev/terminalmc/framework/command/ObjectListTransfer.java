@@ -0,0 +1,228 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.command;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import dev.terminalmc.framework.Framework;
+import dev.terminalmc.framework.config.Config;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Streams {@link Config.Options#customObjectList} to and from NDJSON or CSV
+ * files, one object per record.
+ *
+ * <p>Files are read and written a record at a time, and both directions are
+ * intended to be run as an {@link AsyncCommand}.</p>
+ */
+public class ObjectListTransfer {
+    public static final Path DIR_PATH = Config.DIR_PATH;
+    private static final int CHUNK_SIZE = 256;
+    private static final String CSV_HEADER = "name,size";
+    private static final Gson GSON = new Gson();
+
+    public enum Format {
+        NDJSON,
+        CSV;
+
+        /**
+         * @return the format of {@code fileName}, by extension.
+         */
+        public static Optional<Format> of(String fileName) {
+            String name = fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) return Optional.of(NDJSON);
+            if (name.endsWith(".csv")) return Optional.of(CSV);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param objects the imported objects.
+     * @param rejected the number of records which failed validation.
+     */
+    public record ImportResult(List<Config.CustomObject> objects, int rejected) {
+    }
+
+    /**
+     * Writes {@code objects} to {@code file} via a temporary file.
+     * @return the number of objects written.
+     */
+    public static int export(List<Config.CustomObject> objects, Path file, Format format,
+                             AsyncCommand.Progress progress) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+            }
+            int done = 0;
+            for (Config.CustomObject object : objects) {
+                if (format == Format.CSV) {
+                    writer.write(csvField(object.name == null ? "" : object.name));
+                    writer.write(',');
+                    writer.write(Integer.toString(object.size));
+                } else {
+                    GSON.toJson(object, Config.CustomObject.class, writer);
+                }
+                writer.newLine();
+                if (++done % CHUNK_SIZE == 0) {
+                    progress.checkCancelled();
+                    progress.update(done, objects.size());
+                }
+            }
+            progress.update(done, objects.size());
+        } catch (RuntimeException | IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        return objects.size();
+    }
+
+    /**
+     * Reads and validates the objects in {@code file}. Invalid records are
+     * logged and skipped.
+     */
+    public static ImportResult importFrom(Path file, Format format,
+                                          AsyncCommand.Progress progress) throws IOException {
+        long total = Math.max(1, Files.size(file));
+        long read = 0;
+        int line = 0;
+        int records = 0;
+        int rejected = 0;
+        List<Config.CustomObject> objects = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String record;
+            while ((record = reader.readLine()) != null) {
+                line++;
+                read += record.length() + 1;
+                // Checked per record, as a record may span many lines
+                if (++records % CHUNK_SIZE == 0) {
+                    progress.checkCancelled();
+                    progress.update(Math.min(read, total), total);
+                }
+                if (format == Format.CSV) {
+                    // Quoted fields may contain line breaks. Only the quotes
+                    // in each appended line are counted
+                    int quotes = countQuotes(record);
+                    if (quotes % 2 != 0) {
+                        StringBuilder builder = new StringBuilder(record);
+                        String next;
+                        while (quotes % 2 != 0 && (next = reader.readLine()) != null) {
+                            line++;
+                            read += next.length() + 1;
+                            quotes += countQuotes(next);
+                            builder.append('\n').append(next);
+                        }
+                        record = builder.toString();
+                    }
+                    if (records == 1 && record.equalsIgnoreCase(CSV_HEADER)) continue;
+                }
+                if (record.isBlank()) continue;
+
+                Config.CustomObject object = format == Format.CSV ? parseCsv(record) : parseJson(record);
+                String error = object == null ? "malformed record" : validate(object);
+                if (error == null) {
+                    objects.add(object);
+                } else {
+                    rejected++;
+                    Framework.CONFIG_LOG.warn("Rejected record at {}:{}: {}",
+                            file.getFileName(), line, error);
+                }
+            }
+        }
+        progress.update(total, total);
+        return new ImportResult(objects, rejected);
+    }
+
+    private static String validate(Config.CustomObject object) {
+        if (object.name == null || object.name.isBlank()) return "name is empty";
+        if (object.size < Config.CustomObject.sizeMin || object.size > Config.CustomObject.sizeMax) {
+            return "size " + object.size + " is outside " + Config.CustomObject.sizeMin
+                    + ".." + Config.CustomObject.sizeMax;
+        }
+        return null;
+    }
+
+    private static Config.CustomObject parseJson(String record) {
+        try {
+            return GSON.fromJson(record, Config.CustomObject.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    private static Config.CustomObject parseCsv(String record) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        if (fields.size() != 2) return null;
+        try {
+            return new Config.CustomObject(fields.get(0), Integer.parseInt(fields.get(1).trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * @return {@code true} if {@code record} does not end inside a quoted
+     * field.
+     */
+    private static int countQuotes(String line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') quotes++;
+        }
+        return quotes;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.command;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import dev.terminalmc.framework.util.WorkerPool;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * A {@link SuggestionProvider} backed by a pre-sorted array of values,
+ * matched by case-insensitive prefix using binary search.
+ *
+ * <p>Sources larger than {@link #ASYNC_THRESHOLD} are matched on the
+ * {@link WorkerPool}.</p>
+ *
+ * <p>Lazy sources are resolved on first use, and re-resolved after
+ * {@link #invalidate()}.</p>
+ */
+public class SortedSuggestionProvider<S> implements SuggestionProvider<S> {
+    public static final int ASYNC_THRESHOLD = 512;
+
+    private final Supplier<Collection<String>> source;
+    private volatile Index index;
+
+    private SortedSuggestionProvider(Supplier<Collection<String>> source) {
+        this.source = source;
+    }
+
+    public static <S> SortedSuggestionProvider<S> of(String... values) {
+        return of(List.of(values));
+    }
+
+    public static <S> SortedSuggestionProvider<S> of(Collection<String> values) {
+        SortedSuggestionProvider<S> provider = new SortedSuggestionProvider<>(() -> values);
+        provider.index = new Index(values);
+        return provider;
+    }
+
+    public static <S> SortedSuggestionProvider<S> lazy(Supplier<Collection<String>> source) {
+        return new SortedSuggestionProvider<>(source);
+    }
+
+    /**
+     * Discards the current index, so that it will be rebuilt from the source
+     * on next use.
+     */
+    public void invalidate() {
+        index = null;
+    }
+
+    @Override
+    public CompletableFuture<Suggestions> getSuggestions(CommandContext<S> ctx,
+                                                         SuggestionsBuilder builder) {
+        Index index = this.index;
+        if (index != null && index.size() <= ASYNC_THRESHOLD) {
+            index.suggest(builder);
+            return builder.buildFuture();
+        }
+        return WorkerPool.supply(() -> {
+            getIndex().suggest(builder);
+            return builder.build();
+        });
+    }
+
+    private Index getIndex() {
+        Index index = this.index;
+        if (index == null) {
+            index = new Index(source.get());
+            this.index = index;
+        }
+        return index;
+    }
+
+    private static class Index {
+        private final String[] keys;
+        private final String[] values;
+
+        Index(Collection<String> source) {
+            String[] sorted = source.stream().distinct()
+                    .sorted(Comparator.comparing((String s) -> s.toLowerCase(Locale.ROOT)))
+                    .toArray(String[]::new);
+            this.values = sorted;
+            this.keys = new String[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keys[i] = sorted[i].toLowerCase(Locale.ROOT);
+            }
+        }
+
+        int size() {
+            return values.length;
+        }
+
+        void suggest(SuggestionsBuilder builder) {
+            String prefix = builder.getRemainingLowerCase();
+            for (int i = lowerBound(prefix); i < keys.length && keys[i].startsWith(prefix); i++) {
+                builder.suggest(values[i]);
+            }
+        }
+
+        /**
+         * @return the index of the first key not less than {@code prefix}.
+         */
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+}
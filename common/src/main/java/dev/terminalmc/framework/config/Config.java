@@ -13,26 +13,58 @@ package dev.terminalmc.framework.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.common.base.Suppliers;
 import com.mojang.blaze3d.platform.InputConstants;
 import dev.terminalmc.framework.Framework;
+import dev.terminalmc.framework.util.JfrEvents;
+import dev.terminalmc.framework.util.Metrics;
+import dev.terminalmc.framework.util.StartupTrace;
+import dev.terminalmc.framework.util.WorkerPool;
+import net.minecraft.client.Minecraft;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.world.item.Items;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 public class Config {
-    private static final Path DIR_PATH = Path.of("config");
+    // Overridable so that the config can be exercised outside the game
+    // directory, e.g. by the headless tests
+    public static final Path DIR_PATH = Path.of(System.getProperty("framework.config.dir", "config"));
     private static final String FILE_NAME = Framework.MOD_ID + ".json";
     private static final String BACKUP_FILE_NAME = Framework.MOD_ID + ".unreadable.json";
+    private static final String EXPORT_FILE_NAME = Framework.MOD_ID + ".export.json";
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Gson COMPACT_GSON = new Gson();
+    private static final String BACKEND = "gson";
+    private static final String COMPRESSED_BACKEND = "gson-deflate";
+    /**
+     * Serialized configs longer than this are written as compact,
+     * deflate-compressed JSON. Set to {@code 0} to disable compression.
+     */
+    public static final int COMPRESS_THRESHOLD =
+            Integer.getInteger("framework.config.compressThreshold", 4 << 20);
+    private static volatile boolean compact = false;
+    private static final Field[] OPTION_FIELDS = Arrays.stream(Options.class.getFields())
+            .filter((f) -> !Modifier.isStatic(f.getModifiers()))
+            .toArray(Field[]::new);
 
     // Options
 
@@ -87,8 +119,10 @@ public class Config {
         // YACL only
         // Fourth category
         
-        public static final String itemOptionDefault = BuiltInRegistries.ITEM.getKey(Items.STONE).toString();
-        public String itemOption = itemOptionDefault;
+        // Resolved lazily, as the config may be loaded before the registry
+        public static final Supplier<String> itemOptionDefault = Suppliers.memoize(() ->
+                BuiltInRegistries.ITEM.getKey(Items.STONE).toString());
+        public String itemOption = null;
         
         public static final List<CustomObject> customObjectListDefault = new ArrayList<>(List.of(
                 new CustomObject("one", 1),
@@ -108,6 +142,8 @@ public class Config {
         public String name = nameDefault;
         
         public static final int sizeDefault = 0;
+        public static final int sizeMin = 0;
+        public static final int sizeMax = 10;
         public int size = sizeDefault;
 
         public CustomObject() {
@@ -121,13 +157,52 @@ public class Config {
 
     // Instance management
 
-    private static Config instance = null;
+    private static volatile Config instance = null;
+    private static CompletableFuture<Config> loading = null;
+    private static final AtomicReference<String> PENDING_SAVE = new AtomicReference<>();
 
     public static Config get() {
-        if (instance == null) {
-            instance = Config.load();
+        Config config = instance;
+        if (config == null) {
+            synchronized (Config.class) {
+                if (instance == null) {
+                    instance = join();
+                    instance.resolveDefaults();
+                    saveAsync();
+                }
+                config = instance;
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Starts loading the config on the {@link WorkerPool}. The result is
+     * joined, and then saved, on first call to {@link #get()}.
+     */
+    public static synchronized void loadAsync() {
+        if (instance != null || loading != null) return;
+        loading = WorkerPool.supply(() -> {
+            long start = System.nanoTime();
+            Config config = Config.load();
+            Framework.CONFIG_LOG.info("Loaded config in {} ms", Framework.millisSince(start));
+            return config;
+        });
+    }
+
+    private static Config join() {
+        CompletableFuture<Config> future = loading;
+        loading = null;
+        if (future == null) return Config.load();
+        long start = System.nanoTime();
+        try {
+            Config config = future.join();
+            Framework.CONFIG_LOG.debug("Waited {} ms for config", Framework.millisSince(start));
+            return config;
+        } catch (CompletionException | CancellationException e) {
+            Framework.CONFIG_LOG.error("Unable to load config asynchronously", e);
+            return Config.load();
         }
-        return instance;
     }
 
     public static Config getAndSave() {
@@ -138,12 +213,19 @@ public class Config {
 
     public static Config resetAndSave() {
         instance = new Config();
+        instance.resolveDefaults();
         save();
         return instance;
     }
 
     // Cleanup
 
+    private void resolveDefaults() {
+        // Called when the config is first used, for defaults which cannot be
+        // resolved when it is loaded
+        if (options.itemOption == null) options.itemOption = Options.itemOptionDefault.get();
+    }
+
     private void cleanup() {
         // Called before config is saved
     }
@@ -151,61 +233,333 @@ public class Config {
     // Load and save
 
     public static @NotNull Config load() {
-        Path file = DIR_PATH.resolve(FILE_NAME);
-        Config config = null;
-        if (Files.exists(file)) {
-            config = load(file, GSON);
-            if (config == null) {
-                backup();
-                Framework.LOG.warn("Resetting config");
+        long start = Metrics.CONFIG_LOAD.start();
+        try {
+            Path file = DIR_PATH.resolve(FILE_NAME);
+            // Another instance may have newer, unsaved changes
+            Config config = fromJson(SharedConfig.read());
+            if (config == null && Files.exists(file)) {
+                config = load(file, GSON);
+                if (config == null) {
+                    backup();
+                    Framework.CONFIG_LOG.warn("Resetting config");
+                }
             }
+            return config != null ? config : new Config();
+        } finally {
+            Metrics.CONFIG_LOAD.stop(start);
+            StartupTrace.end("Config.load", start);
+        }
+    }
+
+    private static @Nullable Config fromJson(@Nullable String json) {
+        if (json == null) return null;
+        try {
+            return GSON.fromJson(json, Config.class);
+        } catch (Exception e) {
+            Framework.CONFIG_LOG.error("Unable to parse shared config", e);
+            return null;
         }
-        return config != null ? config : new Config();
     }
 
     private static @Nullable Config load(Path file, Gson gson) {
-        try (InputStreamReader reader = new InputStreamReader(
-                new FileInputStream(file.toFile()), StandardCharsets.UTF_8)) {
-            return gson.fromJson(reader, Config.class);
+        JfrEvents.ConfigLoad event = new JfrEvents.ConfigLoad();
+        event.begin();
+        Config config = null;
+        boolean compressed = false;
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(file.toFile()));
+             InputStreamReader reader = new InputStreamReader(
+                     (compressed = isDeflated(in)) ? new InflaterInputStream(in) : in,
+                     StandardCharsets.UTF_8)) {
+            config = gson.fromJson(reader, Config.class);
         } catch (Exception e) {
             // Catch Exception as errors in deserialization may not fall under
             // IOException or JsonParseException, but should not crash the game.
-            Framework.LOG.error("Unable to load config", e);
-            return null;
+            Metrics.CONFIG_ERRORS.increment();
+            Framework.CONFIG_LOG.error("Unable to load config", e);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = file.toString();
+            event.bytes = sizeOf(file);
+            event.entries = config == null ? 0 : config.options.customObjectList.size();
+            event.backend = compressed ? COMPRESSED_BACKEND : BACKEND;
+            event.success = config != null;
+            event.commit();
         }
+        return config;
     }
     
     private static void backup() {
+        JfrEvents.ConfigBackup event = new JfrEvents.ConfigBackup();
+        event.begin();
+        Path backupFile = DIR_PATH.resolve(BACKUP_FILE_NAME);
         try {
-            Framework.LOG.warn("Copying {} to {}", FILE_NAME, BACKUP_FILE_NAME);
+            Framework.CONFIG_LOG.warn("Copying {} to {}", FILE_NAME, BACKUP_FILE_NAME);
             if (!Files.isDirectory(DIR_PATH)) Files.createDirectories(DIR_PATH);
             Path file = DIR_PATH.resolve(FILE_NAME);
-            Path backupFile = file.resolveSibling(BACKUP_FILE_NAME);
             Files.move(file, backupFile, StandardCopyOption.ATOMIC_MOVE, 
                     StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
-            Framework.LOG.error("Unable to copy config file", e);
+            Framework.CONFIG_LOG.error("Unable to copy config file", e);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = backupFile.toString();
+            event.bytes = sizeOf(backupFile);
+            event.commit();
         }
     }
 
     public static void save() {
         if (instance == null) return;
+        long start = Metrics.CONFIG_SAVE.start();
         instance.cleanup();
-        try {
-            if (!Files.isDirectory(DIR_PATH)) Files.createDirectories(DIR_PATH);
-            Path file = DIR_PATH.resolve(FILE_NAME);
-            Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
-            try (OutputStreamWriter writer = new OutputStreamWriter(
-                    new FileOutputStream(tempFile.toFile()), StandardCharsets.UTF_8)) {
-                writer.write(GSON.toJson(instance));
+        ConfigHistory.cut(instance.options);
+        // Supersede any pending asynchronous save
+        synchronized (PENDING_SAVE) {
+            PENDING_SAVE.set(null);
+            try {
+                String json = toJson(instance);
+                if (shouldPersist(SharedConfig.publish(json))) {
+                    if (!Files.isDirectory(DIR_PATH)) Files.createDirectories(DIR_PATH);
+                    write(json, DIR_PATH.resolve(FILE_NAME), false);
+                }
+                Framework.onConfigSaved(instance);
             } catch (IOException e) {
-                throw new IOException(e);
+                Metrics.CONFIG_ERRORS.increment();
+                Framework.CONFIG_LOG.error("Unable to save config", e);
+            } finally {
+                Metrics.CONFIG_SAVE.stop(start);
             }
-            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE,
-                    StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Serializes the current instance on the calling thread, and writes it to
+     * disk on the {@link WorkerPool}. If saves are requested faster than they
+     * can be written, only the latest is written.
+     *
+     * <p>Pending writes are flushed by {@link #flush()} when the client
+     * stops.</p>
+     */
+    public static void saveAsync() {
+        if (instance == null) return;
+        if (WorkerPool.isShutdown()) {
+            save();
+            return;
+        }
+        instance.cleanup();
+        ConfigHistory.cut(instance.options);
+        String json = toJson(instance);
+        persistAsync(json, SharedConfig.publish(json));
+    }
+
+    /**
+     * @param shared whether the config was published to other instances.
+     * @return {@code true} if this instance should write the config file. A
+     * config which could not be published is always written, so that the
+     * change is not lost.
+     */
+    private static boolean shouldPersist(boolean shared) {
+        if (shared) return SharedConfig.shouldPersist();
+        if (!SharedConfig.shouldPersist()) {
+            Framework.CONFIG_LOG.warn("Unable to share config, writing it from this instance");
+        }
+        return true;
+    }
+
+    private static void persistAsync(String json, boolean shared) {
+        if (!shouldPersist(shared)) {
             Framework.onConfigSaved(instance);
+            return;
+        }
+        if (PENDING_SAVE.getAndSet(json) == null) {
+            WorkerPool.run(Config::writePending).exceptionally((e) -> {
+                // Rejected by the pool, so write it here rather than leaving
+                // it pending and blocking later saves
+                Framework.CONFIG_LOG.warn("Unable to queue config save, writing it now", e);
+                writePending();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Adopts changes published by other instances via {@link SharedConfig},
+     * and writes them to disk if this instance is the leader. Called once per
+     * tick.
+     *
+     * <p>Adopted values are copied into the live {@link Options}, so that an
+     * open config screen, which holds the live options, edits and saves them
+     * rather than a replaced instance.</p>
+     */
+    public static void pollShared() {
+        if (instance == null || !SharedConfig.isEnabled()) return;
+        if (SharedConfig.pollLeader()) {
+            Framework.CONFIG_LOG.info("Now writing shared config");
+            persistAsync(toJson(instance), true);
+        }
+        String json = SharedConfig.poll();
+        Config config = fromJson(json);
+        if (config == null) return;
+        config.resolveDefaults();
+        copyOptions(config.options, instance.options);
+        persistAsync(json, true);
+    }
+
+    private static void copyOptions(Options from, Options to) {
+        for (Field field : OPTION_FIELDS) {
+            try {
+                field.set(to, field.get(from));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes any pending asynchronous save on the calling thread.
+     */
+    public static void flush() {
+        writePending();
+    }
+
+    private static void writePending() {
+        synchronized (PENDING_SAVE) {
+            String json = PENDING_SAVE.getAndSet(null);
+            if (json == null) return;
+            long start = Metrics.CONFIG_SAVE.start();
+            try {
+                if (!Files.isDirectory(DIR_PATH)) Files.createDirectories(DIR_PATH);
+                write(json, DIR_PATH.resolve(FILE_NAME), true);
+                Config config = instance;
+                Minecraft.getInstance().execute(() -> Framework.onConfigSaved(config));
+            } catch (IOException e) {
+                Metrics.CONFIG_ERRORS.increment();
+                Framework.CONFIG_LOG.error("Unable to save config", e);
+            } finally {
+                Metrics.CONFIG_SAVE.stop(start);
+            }
+        }
+    }
+
+    /**
+     * Reads a config from {@code file}, without affecting the current
+     * instance.
+     * @return the config, or {@code null} if it could not be read.
+     */
+    public static @Nullable Config read(Path file) {
+        return load(file, GSON);
+    }
+
+    /**
+     * Writes {@code config} to {@code file} via a temporary file, without
+     * affecting the current instance.
+     */
+    public static void write(Config config, Path file) throws IOException {
+        write(toJson(config), file, false);
+    }
+
+    /**
+     * @return a copy of the current instance which can be serialized off the
+     * client thread, for {@link #exportJson}. Lists are copied, as they may be
+     * edited in place.
+     */
+    public static Config snapshot() {
+        Config copy = new Config();
+        copyOptions(get().options, copy.options);
+        Options options = copy.options;
+        options.stringListOption = new ArrayList<>(options.stringListOption);
+        List<CustomObject> objects = new ArrayList<>(options.customObjectList.size());
+        for (CustomObject object : options.customObjectList) {
+            objects.add(object == null ? null : new CustomObject(object.name, object.size));
+        }
+        options.customObjectList = objects;
+        return copy;
+    }
+
+    /**
+     * Writes {@code config} as pretty-printed, uncompressed JSON to
+     * {@code framework.export.json}, for editing. The file can be renamed to
+     * {@code framework.json} to replace the config.
+     * @param config a {@link #snapshot()}, if called off the client thread.
+     * @return the export file.
+     */
+    public static Path exportJson(Config config) throws IOException {
+        String json = GSON.toJson(config);
+        if (!Files.isDirectory(DIR_PATH)) Files.createDirectories(DIR_PATH);
+        Path file = DIR_PATH.resolve(EXPORT_FILE_NAME);
+        write(json, file, true, false);
+        return file;
+    }
+
+    /**
+     * Serializes {@code config}, as pretty-printed JSON unless it is larger
+     * than {@link #COMPRESS_THRESHOLD}, in which case as compact JSON to be
+     * compressed.
+     */
+    private static String toJson(Config config) {
+        if (!compact) {
+            String json = GSON.toJson(config);
+            if (COMPRESS_THRESHOLD <= 0 || json.length() <= COMPRESS_THRESHOLD) return json;
+        }
+        String json = COMPACT_GSON.toJson(config);
+        // Stay compact until well under the threshold, so that a config near
+        // it is not serialized twice per save
+        compact = COMPRESS_THRESHOLD > 0 && json.length() > COMPRESS_THRESHOLD / 2;
+        return json;
+    }
+
+    /**
+     * @return {@code true} if {@code in} starts with a zlib header. Plain
+     * JSON never does, as it cannot start with {@code x}.
+     */
+    private static boolean isDeflated(BufferedInputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first == 0x78 && second >= 0 && ((first << 8) | second) % 31 == 0;
+    }
+
+    /**
+     * Compresses {@code json} only if {@link #toJson} made it compact, which
+     * pretty-printed JSON never is as it always contains line breaks.
+     */
+    private static void write(String json, Path file, boolean async) throws IOException {
+        write(json, file, async, COMPRESS_THRESHOLD > 0 && json.indexOf('\n') < 0);
+    }
+
+    private static void write(String json, Path file, boolean async, boolean compress)
+            throws IOException {
+        JfrEvents.ConfigSave event = new JfrEvents.ConfigSave();
+        event.begin();
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile.toFile()));
+        try (OutputStreamWriter writer = new OutputStreamWriter(
+                compress ? new DeflaterOutputStream(out) : out, StandardCharsets.UTF_8)) {
+            writer.write(json);
+        } catch (IOException e) {
+            throw new IOException(e);
+        }
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = file.toString();
+            event.bytes = sizeOf(file);
+            event.backend = compress ? COMPRESSED_BACKEND : BACKEND;
+            event.async = async;
+            event.commit();
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
         } catch (IOException e) {
-            Framework.LOG.error("Unable to save config", e);
+            return -1;
         }
     }
 }
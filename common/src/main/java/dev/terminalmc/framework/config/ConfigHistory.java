@@ -0,0 +1,272 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.config;
+
+import dev.terminalmc.framework.Framework;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A bounded history of immutable {@link Config.Options} snapshots, with
+ * undo and redo.
+ *
+ * <p>A version is cut each time the config is saved. Snapshots share
+ * structure with the previous version: unchanged values are shared, and
+ * lists are split into fixed-size chunks which are shared if none of their
+ * elements changed. Cutting a version compares the live options against the
+ * previous snapshot, but only allocates for what changed. Undo and redo
+ * only copy out the values and list chunks which differ between the two
+ * versions.</p>
+ *
+ * <p>Options fields are discovered reflectively. Lists and immutable values
+ * (primitives, strings and enums) are supported; list elements of
+ * {@link Config.CustomObject} are stored as immutable copies.</p>
+ */
+public final class ConfigHistory {
+    public static final int MAX_VERSIONS = 32;
+    private static final int CHUNK_SIZE = 32;
+
+    private static final Field[] FIELDS = Arrays.stream(Config.Options.class.getFields())
+            .filter((f) -> !Modifier.isStatic(f.getModifiers()))
+            .toArray(Field[]::new);
+
+    private static final Deque<Snapshot> HISTORY = new ArrayDeque<>();
+    private static final Deque<Snapshot> REDO = new ArrayDeque<>();
+    private static long nextVersion = 1;
+
+    /**
+     * An immutable version of the options. Each value is either an immutable
+     * option value or a chunked list.
+     */
+    public record Snapshot(long version, long time, Object[] values) {
+        /**
+         * @return the names of the options which differ from {@code other}.
+         */
+        public List<String> diff(Snapshot other) {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (!same(values[i], other.values[i])) names.add(FIELDS[i].getName());
+            }
+            return names;
+        }
+    }
+
+    /**
+     * An immutable list, stored as shareable chunks of frozen elements.
+     */
+    private record Chunks(int size, Object[][] chunks) {
+    }
+
+    private record FrozenObject(String name, int size) {
+    }
+
+    /**
+     * Records the current options as a new version, unless they are unchanged
+     * since the last version. Clears the redo history. Called when the config
+     * is saved.
+     */
+    public static synchronized void cut(Config.Options options) {
+        Snapshot head = HISTORY.peekLast();
+        Object[] values = freeze(options, head);
+        boolean changed = head == null;
+        for (int i = 0; i < FIELDS.length && !changed; i++) {
+            changed = values[i] != head.values()[i];
+        }
+        if (!changed) return;
+        REDO.clear();
+        HISTORY.addLast(new Snapshot(nextVersion++, System.currentTimeMillis(), values));
+        while (HISTORY.size() > MAX_VERSIONS) HISTORY.removeFirst();
+    }
+
+    /**
+     * Restores the previous version into {@code options}. Changes made since
+     * the last version was cut, including any loaded from another instance,
+     * are discarded.
+     * @return the restored version, or {@code null} if there is none.
+     */
+    public static synchronized Snapshot undo(Config.Options options) {
+        if (HISTORY.size() < 2) return null;
+        Snapshot current = HISTORY.removeLast();
+        REDO.addLast(current);
+        Snapshot target = HISTORY.peekLast();
+        restore(options, current, target);
+        return target;
+    }
+
+    /**
+     * Re-applies the most recently undone version to {@code options}.
+     * @return the restored version, or {@code null} if there is none.
+     */
+    public static synchronized Snapshot redo(Config.Options options) {
+        Snapshot target = REDO.pollLast();
+        if (target == null) return null;
+        Snapshot current = HISTORY.peekLast();
+        HISTORY.addLast(target);
+        restore(options, current, target);
+        return target;
+    }
+
+    /**
+     * @return all retained versions, oldest first.
+     */
+    public static synchronized List<Snapshot> versions() {
+        return List.copyOf(HISTORY);
+    }
+
+    public static synchronized int redoSize() {
+        return REDO.size();
+    }
+
+    // Freezing
+
+    /**
+     * @return the frozen values of {@code options}, sharing what is
+     * unchanged with {@code base}.
+     */
+    private static Object[] freeze(Config.Options options, Snapshot base) {
+        Object[] values = new Object[FIELDS.length];
+        for (int i = 0; i < FIELDS.length; i++) {
+            values[i] = freezeValue(read(FIELDS[i], options), base == null ? null : base.values()[i]);
+        }
+        return values;
+    }
+
+    private static Object read(Field field, Config.Options options) {
+        try {
+            return field.get(options);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return {@code previous} if {@code value} is unchanged from it,
+     * otherwise an immutable copy of {@code value} sharing what it can.
+     */
+    private static Object freezeValue(Object value, Object previous) {
+        if (value instanceof List<?> list) {
+            return freezeList(list, previous instanceof Chunks chunks ? chunks : null);
+        }
+        return Objects.equals(value, previous) ? previous : value;
+    }
+
+    private static Chunks freezeList(List<?> list, Chunks previous) {
+        int size = list.size();
+        Object[][] chunks = new Object[(size + CHUNK_SIZE - 1) / CHUNK_SIZE][];
+        boolean changed = previous == null || previous.size() != size;
+        for (int c = 0; c < chunks.length; c++) {
+            int start = c * CHUNK_SIZE;
+            int length = Math.min(CHUNK_SIZE, size - start);
+            Object[] old = previous != null && c < previous.chunks().length
+                    ? previous.chunks()[c] : null;
+            Object[] chunk = null;
+            for (int i = 0; i < length; i++) {
+                Object element = list.get(start + i);
+                Object oldElement = old != null && i < old.length ? old[i] : null;
+                Object frozen = freezeElement(element, oldElement);
+                if (chunk == null && (old == null || old.length != length || frozen != oldElement)) {
+                    // First difference in this chunk, so it cannot be shared
+                    chunk = new Object[length];
+                    if (old != null) System.arraycopy(old, 0, chunk, 0, Math.min(i, old.length));
+                }
+                if (chunk != null) chunk[i] = frozen;
+            }
+            chunks[c] = chunk != null ? chunk : old;
+            changed |= chunk != null;
+        }
+        return changed ? new Chunks(size, chunks) : previous;
+    }
+
+    private static Object freezeElement(Object element, Object previous) {
+        if (element instanceof Config.CustomObject object) {
+            if (previous instanceof FrozenObject frozen
+                    && Objects.equals(frozen.name(), object.name) && frozen.size() == object.size) {
+                return previous;
+            }
+            return new FrozenObject(object.name, object.size);
+        }
+        return Objects.equals(element, previous) ? previous : element;
+    }
+
+    // Restoring
+
+    private static boolean same(Object a, Object b) {
+        return a == b || (!(a instanceof Chunks) && Objects.equals(a, b));
+    }
+
+    /**
+     * Restores {@code target} into {@code options}. The live options may have
+     * drifted from {@code current}, for example when the config is replaced
+     * by another instance, so they are frozen and diffed against
+     * {@code target}. Freezing against {@code current} shares chunks with it,
+     * and so with {@code target} wherever the live values are unchanged.
+     */
+    private static void restore(Config.Options options, Snapshot current, Snapshot target) {
+        Object[] frozen = freeze(options, current);
+        for (int i = 0; i < FIELDS.length; i++) {
+            Object from = frozen[i];
+            Object to = target.values()[i];
+            if (same(from, to)) continue;
+            try {
+                if (to instanceof Chunks chunks) {
+                    Object live = FIELDS[i].get(options);
+                    FIELDS[i].set(options, restoreList(live instanceof List<?> list ? list : null,
+                            from instanceof Chunks c ? c : null, chunks));
+                } else {
+                    FIELDS[i].set(options, to);
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        Framework.CONFIG_LOG.debug("Restored config version {}", target.version());
+    }
+
+    /**
+     * Builds a list with the contents of {@code to}. {@code from} is the
+     * frozen form of {@code live}, so elements of chunks which are shared
+     * with it are taken from {@code live} as they are, and only changed
+     * chunks are copied out of the snapshot.
+     */
+    private static List<Object> restoreList(List<?> live, Chunks from, Chunks to) {
+        // Always a new list, as the live list may be immutable or shared
+        // with a default value
+        List<Object> list = new ArrayList<>(to.size());
+        boolean reuse = live != null && from != null && live.size() == from.size();
+        for (int c = 0; c < to.chunks().length; c++) {
+            Object[] chunk = to.chunks()[c];
+            int start = c * CHUNK_SIZE;
+            if (reuse && c < from.chunks().length && from.chunks()[c] == chunk) {
+                list.addAll(live.subList(start, start + chunk.length));
+            } else {
+                for (Object element : chunk) {
+                    list.add(thaw(element));
+                }
+            }
+        }
+        return list;
+    }
+
+    private static Object thaw(Object element) {
+        if (element instanceof FrozenObject frozen) {
+            return new Config.CustomObject(frozen.name(), frozen.size());
+        }
+        return element;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.config;
+
+import dev.terminalmc.framework.Framework;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Shares the serialized config between client instances on the same machine
+ * through a memory-mapped file, so that instances run from the same
+ * directory do not overwrite each other's changes.
+ *
+ * <p>Instances publish the config to the region when saving, and poll a
+ * sequence number once per tick to pick up changes from other instances.
+ * The payload is guarded by a sequence lock: writers, serialized by a file
+ * lock, make the sequence odd while writing, and readers retry if the
+ * sequence was odd or changed while they read.</p>
+ *
+ * <p>Only the instance holding the leader file lock writes the config file.
+ * The lock is released by the OS when that instance exits, and another
+ * instance takes over on its next poll.</p>
+ *
+ * <p>Every attached instance holds a shared presence lock. The region file
+ * outlives the instances, so the first instance to attach, which finds no
+ * other presence lock, clears the region rather than trusting a config left
+ * by a previous session over the config file.</p>
+ *
+ * <p>Opt-in with {@code -Dframework.config.shared=true}. Linux only.</p>
+ */
+public final class SharedConfig {
+    public static final boolean REQUESTED = Boolean.getBoolean("framework.config.shared");
+    public static final int REGION_SIZE = 1 << 20;
+
+    private static final int MAGIC = 0x46524d57; // FRMW
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int LENGTH_OFFSET = 16;
+    private static final int PAYLOAD_OFFSET = 64;
+    private static final int MAX_PAYLOAD = REGION_SIZE - PAYLOAD_OFFSET;
+    // Locked byte ranges past the end of the region
+    private static final long WRITE_LOCK_POSITION = REGION_SIZE;
+    private static final long LEADER_LOCK_POSITION = REGION_SIZE + 1;
+    private static final long PRESENCE_LOCK_POSITION = REGION_SIZE + 2;
+    private static final int LEADER_POLL_INTERVAL = 100;
+    private static final int MAX_READ_ATTEMPTS = 1000;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static boolean opened = false;
+    private static FileChannel channel = null;
+    private static MappedByteBuffer buffer = null;
+    private static FileLock leaderLock = null;
+    private static FileLock presenceLock = null;
+    private static long lastSequence = 0;
+    private static int pollsUntilLeaderCheck = 0;
+
+    /**
+     * @return {@code true} if shared mode was requested and the region is
+     * mapped.
+     */
+    public static synchronized boolean isEnabled() {
+        if (!opened) open();
+        return buffer != null;
+    }
+
+    /**
+     * @return {@code true} if this instance should write the config file,
+     * which is always the case unless shared mode is enabled.
+     */
+    public static synchronized boolean shouldPersist() {
+        return !isEnabled() || leaderLock != null;
+    }
+
+    private static void open() {
+        opened = true;
+        if (!REQUESTED) return;
+        if (!System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("linux")) {
+            Framework.CONFIG_LOG.warn("Shared config is only supported on Linux");
+            return;
+        }
+        Path file = Config.DIR_PATH.resolve(Framework.MOD_ID + ".shm");
+        try {
+            // Opened from the first load, before the config has been written
+            Files.createDirectories(Config.DIR_PATH);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+            // Exclusive only if no other instance is attached. Others block
+            // on their shared lock below until the region is cleared.
+            FileLock alone = channel.tryLock(PRESENCE_LOCK_POSITION, 1, false);
+            try (FileLock ignored = channel.lock(WRITE_LOCK_POSITION, 1, false)) {
+                if (alone != null || buffer.getInt(MAGIC_OFFSET) != MAGIC
+                        || buffer.getInt(VERSION_OFFSET) != VERSION) {
+                    LONGS.setVolatile(buffer, SEQUENCE_OFFSET, 0L);
+                    buffer.putInt(LENGTH_OFFSET, 0);
+                    buffer.putInt(VERSION_OFFSET, VERSION);
+                    buffer.putInt(MAGIC_OFFSET, MAGIC);
+                }
+            } finally {
+                if (alone != null) alone.release();
+            }
+            presenceLock = channel.lock(PRESENCE_LOCK_POSITION, 1, true);
+            lastSequence = (long)LONGS.getVolatile(buffer, SEQUENCE_OFFSET);
+            tryLead();
+            Framework.CONFIG_LOG.info("Sharing config via {}{}", file,
+                    leaderLock != null ? " as leader" : "");
+        } catch (IOException e) {
+            Framework.CONFIG_LOG.error("Unable to map shared config, falling back to file", e);
+            close();
+        }
+    }
+
+    /**
+     * Attempts to become the instance which writes the config file.
+     * @return {@code true} if this instance has just become the leader.
+     */
+    public static synchronized boolean tryLead() {
+        if (buffer == null || leaderLock != null) return false;
+        try {
+            leaderLock = channel.tryLock(LEADER_LOCK_POSITION, 1, false);
+        } catch (IOException e) {
+            Framework.CONFIG_LOG.error("Unable to acquire shared config leader lock", e);
+        }
+        return leaderLock != null;
+    }
+
+    /**
+     * @return the most recently published config, or {@code null} if none
+     * has been published or it could not be read consistently.
+     */
+    public static synchronized @Nullable String read() {
+        if (!isEnabled()) return null;
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            long before = (long)LONGS.getVolatile(buffer, SEQUENCE_OFFSET);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (before == 0) return null;
+            int length = buffer.getInt(LENGTH_OFFSET);
+            byte[] bytes = new byte[Math.max(0, Math.min(MAX_PAYLOAD, length))];
+            buffer.get(PAYLOAD_OFFSET, bytes);
+            // Orders the payload reads before the validating read
+            VarHandle.acquireFence();
+            if ((long)LONGS.getVolatile(buffer, SEQUENCE_OFFSET) == before) {
+                lastSequence = before;
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        Framework.CONFIG_LOG.warn("Unable to read shared config consistently");
+        return null;
+    }
+
+    /**
+     * Publishes {@code json} to the other instances.
+     * @return {@code true} if {@code json} was published, or {@code false} if
+     * shared mode is not enabled or publishing failed, in which case the
+     * caller must write the config file itself.
+     */
+    public static synchronized boolean publish(String json) {
+        if (!isEnabled()) return false;
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_PAYLOAD) {
+            Framework.CONFIG_LOG.warn("Config is too large to share ({} bytes)", bytes.length);
+            return false;
+        }
+        try (FileLock ignored = channel.lock(WRITE_LOCK_POSITION, 1, false)) {
+            long sequence = (long)LONGS.getVolatile(buffer, SEQUENCE_OFFSET);
+            LONGS.setVolatile(buffer, SEQUENCE_OFFSET, sequence + 1);
+            // Orders the odd sequence before the payload writes
+            VarHandle.storeStoreFence();
+            buffer.putInt(LENGTH_OFFSET, bytes.length);
+            buffer.put(PAYLOAD_OFFSET, bytes);
+            LONGS.setVolatile(buffer, SEQUENCE_OFFSET, sequence + 2);
+            lastSequence = sequence + 2;
+            return true;
+        } catch (IOException e) {
+            Framework.CONFIG_LOG.error("Unable to publish shared config", e);
+            return false;
+        }
+    }
+
+    /**
+     * Checks for a config published by another instance. Called once per
+     * tick, and costs a single read unless the config has changed.
+     * @return the new config, or {@code null} if it has not changed.
+     */
+    public static synchronized @Nullable String poll() {
+        if (!isEnabled()) return null;
+        long sequence = (long)LONGS.getVolatile(buffer, SEQUENCE_OFFSET);
+        if (sequence == lastSequence || (sequence & 1) != 0) return null;
+        return read();
+    }
+
+    /**
+     * @return {@code true} if this instance has just become the leader. The
+     * leader lock is only attempted every {@link #LEADER_POLL_INTERVAL} calls.
+     */
+    public static synchronized boolean pollLeader() {
+        if (buffer == null || leaderLock != null) return false;
+        if (--pollsUntilLeaderCheck > 0) return false;
+        pollsUntilLeaderCheck = LEADER_POLL_INTERVAL;
+        return tryLead();
+    }
+
+    /**
+     * Releases the leader lock and unmaps the region. Called when the client
+     * stops.
+     */
+    public static synchronized void close() {
+        try {
+            if (leaderLock != null) leaderLock.release();
+            if (presenceLock != null) presenceLock.release();
+            if (channel != null) channel.close();
+        } catch (IOException e) {
+            Framework.CONFIG_LOG.error("Unable to close shared config", e);
+        }
+        leaderLock = null;
+        presenceLock = null;
+        channel = null;
+        buffer = null;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.event;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * A loader-agnostic event, dispatched to listeners of the functional
+ * interface {@code T}.
+ *
+ * <p>Listeners are held in a copy-on-write array, and {@link #invoker()}
+ * returns a single listener which calls them all. Listeners are usually
+ * method references, so every listener is called directly through the
+ * interface.</p>
+ */
+public final class Event<T> {
+    private final Function<T[], T> combiner;
+    private volatile T[] listeners;
+    private volatile T invoker;
+
+    /**
+     * @param type the listener interface.
+     * @param combiner creates an invoker which calls each listener in the
+     *                 given array.
+     */
+    @SuppressWarnings("unchecked")
+    public Event(Class<T> type, Function<T[], T> combiner) {
+        this.combiner = combiner;
+        this.listeners = (T[])Array.newInstance(type, 0);
+        this.invoker = combiner.apply(listeners);
+    }
+
+    /**
+     * @return a listener which calls all registered listeners. The invoker
+     * is replaced when listeners are registered, so should be re-fetched for
+     * each dispatch rather than stored.
+     */
+    public T invoker() {
+        return invoker;
+    }
+
+    /**
+     * @param listener the listener, usually a method reference.
+     */
+    public synchronized void register(T listener) {
+        T[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[updated.length - 1] = listener;
+        listeners = updated;
+        invoker = combiner.apply(updated);
+    }
+}
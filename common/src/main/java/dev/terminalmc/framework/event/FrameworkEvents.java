@@ -0,0 +1,86 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.event;
+
+import com.mojang.brigadier.CommandDispatcher;
+import net.minecraft.client.KeyMapping;
+import net.minecraft.client.Minecraft;
+import net.minecraft.commands.CommandBuildContext;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Events forwarded from the loader-specific entrypoints. Each loader hook
+ * forwards to {@link Event#invoker()} once, and common code subscribes here
+ * rather than to the loader.
+ */
+public final class FrameworkEvents {
+    /**
+     * Fired with a registrar which registers a key mapping with the loader.
+     */
+    public static final Event<Consumer<Consumer<KeyMapping>>> REGISTER_KEY_MAPPINGS =
+            new Event<>(type(Consumer.class), (listeners) -> (registrar) -> {
+                for (Consumer<Consumer<KeyMapping>> listener : listeners) {
+                    listener.accept(registrar);
+                }
+            });
+
+    /**
+     * Fired when client commands should be registered, which may happen
+     * several times per session.
+     */
+    public static final Event<BiConsumer<CommandDispatcher<?>, CommandBuildContext>> REGISTER_COMMANDS =
+            new Event<>(type(BiConsumer.class), (listeners) -> (dispatcher, buildContext) -> {
+                for (BiConsumer<CommandDispatcher<?>, CommandBuildContext> listener : listeners) {
+                    listener.accept(dispatcher, buildContext);
+                }
+            });
+
+    /**
+     * Fired when client resources have been reloaded.
+     */
+    public static final Event<Runnable> RESOURCE_RELOAD =
+            new Event<>(Runnable.class, (listeners) -> () -> {
+                for (Runnable listener : listeners) {
+                    listener.run();
+                }
+            });
+
+    /**
+     * Fired at the end of each client tick.
+     */
+    public static final Event<Consumer<Minecraft>> END_TICK =
+            new Event<>(type(Consumer.class), (listeners) -> (mc) -> {
+                for (Consumer<Minecraft> listener : listeners) {
+                    listener.accept(mc);
+                }
+            });
+
+    /**
+     * Fired when the client is stopping.
+     */
+    public static final Event<Runnable> CLIENT_STOP =
+            new Event<>(Runnable.class, (listeners) -> () -> {
+                for (Runnable listener : listeners) {
+                    listener.run();
+                }
+            });
+
+    /**
+     * @return {@code raw} as a parameterized listener type.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> type(Class<?> raw) {
+        return (Class<T>)raw;
+    }
+}
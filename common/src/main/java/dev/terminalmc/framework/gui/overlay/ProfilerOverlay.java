@@ -0,0 +1,108 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.gui.overlay;
+
+import dev.terminalmc.framework.util.FrameProfiler;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+
+/**
+ * Draws graphs of recent frame and tick times, with percentiles, in the top
+ * right corner of the HUD.
+ */
+public class ProfilerOverlay {
+    private static final int WIDTH = 240;
+    private static final int HEIGHT = 40;
+    private static final int TEXT_HEIGHT = 10;
+    private static final int REFRESH_FRAMES = 20;
+    private static final long FRAME_BUDGET_NANOS = 16_666_667;
+    private static final long TICK_BUDGET_NANOS = 50_000_000;
+
+    private static final int BACKGROUND_COLOR = 0x90000000;
+    private static final int TEXT_COLOR = 0xFFE0E0E0;
+    private static final int BUDGET_COLOR = 0x80FFFFFF;
+    private static final int GOOD_COLOR = 0xFF55FF55;
+    private static final int SLOW_COLOR = 0xFFFFFF55;
+    private static final int BAD_COLOR = 0xFFFF5555;
+
+    private static boolean enabled = false;
+    private static int framesUntilRefresh = 0;
+    private static String frameText = "";
+    private static String tickText = "";
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return {@code true} if the overlay is now enabled.
+     */
+    public static boolean toggle() {
+        enabled = !enabled;
+        framesUntilRefresh = 0;
+        return enabled;
+    }
+
+    public static void render(GuiGraphics graphics) {
+        if (!enabled) return;
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.options.hideGui) return;
+
+        // Summaries are recomputed periodically, as sorting and formatting
+        // every frame would distort the timings being shown
+        if (--framesUntilRefresh <= 0) {
+            framesUntilRefresh = REFRESH_FRAMES;
+            frameText = summary(FrameProfiler.FRAME);
+            tickText = summary(FrameProfiler.TICK);
+        }
+
+        int x = graphics.guiWidth() - WIDTH - 2;
+        int y = drawGraph(graphics, mc.font, FrameProfiler.FRAME, frameText,
+                FRAME_BUDGET_NANOS, x, 2);
+        drawGraph(graphics, mc.font, FrameProfiler.TICK, tickText,
+                TICK_BUDGET_NANOS, x, y + 2);
+    }
+
+    private static String summary(FrameProfiler.Series series) {
+        series.summarize();
+        return String.format("%s p50 %.1f p90 %.1f p99 %.1f max %.1f ms", series.name(),
+                series.percentile(0.5) / 1e6, series.percentile(0.9) / 1e6,
+                series.percentile(0.99) / 1e6, series.max() / 1e6);
+    }
+
+    /**
+     * Draws the most recent samples of {@code series}, newest on the right,
+     * scaled so that {@code budgetNanos} is half the graph height.
+     * @return the y coordinate of the bottom of the graph.
+     */
+    private static int drawGraph(GuiGraphics graphics, Font font, FrameProfiler.Series series,
+                                 String text, long budgetNanos, int x, int y) {
+        int bottom = y + TEXT_HEIGHT + HEIGHT;
+        graphics.fill(x, y, x + WIDTH, bottom, BACKGROUND_COLOR);
+        graphics.drawString(font, text, x + 2, y + 1, TEXT_COLOR, false);
+
+        long nanosPerPixel = budgetNanos * 2 / HEIGHT;
+        int count = Math.min(WIDTH, series.size());
+        for (int age = 0; age < count; age++) {
+            long nanos = series.get(age);
+            int height = (int)Math.max(1, Math.min(HEIGHT, nanos / nanosPerPixel));
+            int color = nanos <= budgetNanos ? GOOD_COLOR
+                    : nanos <= budgetNanos * 2 ? SLOW_COLOR : BAD_COLOR;
+            int column = x + WIDTH - 1 - age;
+            graphics.fill(column, bottom - height, column + 1, bottom, color);
+        }
+        int budgetY = bottom - HEIGHT / 2;
+        graphics.fill(x, budgetY, x + WIDTH, budgetY + 1, BUDGET_COLOR);
+        return bottom;
+    }
+}
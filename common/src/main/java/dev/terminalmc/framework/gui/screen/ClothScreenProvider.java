@@ -24,7 +24,9 @@ import net.minecraft.resources.ResourceLocation;
 
 import java.util.*;
 
-import static dev.terminalmc.framework.util.Localization.localized;
+import static dev.terminalmc.framework.util.Localization.translatable;
+import static dev.terminalmc.framework.util.Localization.translated;
+import static dev.terminalmc.framework.util.TranslationKeys.*;
 
 public class ClothScreenProvider {
     /**
@@ -64,47 +66,47 @@ public class ClothScreenProvider {
 
         ConfigBuilder builder = ConfigBuilder.create()
                 .setParentScreen(parent)
-                .setTitle(localized("name"))
-                .setSavingRunnable(Config::save);
+                .setTitle(translated(NAME))
+                .setSavingRunnable(Config::saveAsync);
         ConfigEntryBuilder eb = builder.entryBuilder();
 
         // First category
-        ConfigCategory firstCat = builder.getOrCreateCategory(localized("option", "cat1"));
+        ConfigCategory firstCat = builder.getOrCreateCategory(translated(OPTION_CAT1));
 
         // Yes/No button
         firstCat.addEntry(eb.startBooleanToggle(
-                localized("option", "cat1.booleanOption"), options.booleanOption)
-                .setTooltip(localized("option", "cat1.booleanOption.tooltip"))
+                translated(OPTION_CAT1_BOOLEAN_OPTION), options.booleanOption)
+                .setTooltip(translated(OPTION_CAT1_BOOLEAN_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.booleanOptionDefault)
                 .setSaveConsumer(val -> options.booleanOption = val)
                 .build());
 
         // Colored Custom/Custom button
         firstCat.addEntry(eb.startBooleanToggle(
-                localized("option", "cat1.booleanOption"), options.booleanOption)
-                .setTooltip(localized("option", "cat1.booleanOption.tooltip"))
+                translated(OPTION_CAT1_BOOLEAN_OPTION), options.booleanOption)
+                .setTooltip(translated(OPTION_CAT1_BOOLEAN_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.booleanOptionDefault)
                 .setSaveConsumer(val -> options.booleanOption = val)
                 .setYesNoTextSupplier(val -> val // op
-                        ? localized("option", "cat1.booleanOption.true")
+                        ? translatable(OPTION_CAT1_BOOLEAN_OPTION_TRUE)
                         .withStyle(ChatFormatting.GREEN)
-                        : localized("option", "cat1.booleanOption.false")
+                        : translatable(OPTION_CAT1_BOOLEAN_OPTION_FALSE)
                         .withStyle(ChatFormatting.RED))
                 .build());
 
         // Integer slider with value text formatting (also available for Long)
         firstCat.addEntry(eb.startIntSlider(
-                localized("option", "cat1.intOption"), options.intOption, 0, 10)
-                .setTooltip(localized("option", "cat1.intOption.tooltip"))
+                translated(OPTION_CAT1_INT_OPTION), options.intOption, 0, 10)
+                .setTooltip(translated(OPTION_CAT1_INT_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.intOptionDefault)
                 .setSaveConsumer(val -> options.intOption = val)
-                .setTextGetter(val -> localized("option", "cat1.intOption.value", val)) // op
+                .setTextGetter(val -> translatable(OPTION_CAT1_INT_OPTION_VALUE, val)) // op
                 .build());
 
         // Double field with range (also available for Integer, Float, Long)
         firstCat.addEntry(eb.startDoubleField(
-                localized("option", "cat1.doubleOption"), options.doubleOption)
-                .setTooltip(localized("option", "cat1.doubleOption.tooltip"))
+                translated(OPTION_CAT1_DOUBLE_OPTION), options.doubleOption)
+                .setTooltip(translated(OPTION_CAT1_DOUBLE_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.doubleOptionDefault)
                 .setSaveConsumer(val -> options.doubleOption = val)
                 .setMin(0d) // op
@@ -113,30 +115,30 @@ public class ClothScreenProvider {
 
         // String field (lenient)
         firstCat.addEntry(eb.startStrField(
-                localized("option", "cat1.lenientStringOption"), options.lenientStringOption)
-                .setTooltip(localized("option", "cat1.lenientStringOption.tooltip"))
+                translated(OPTION_CAT1_LENIENT_STRING_OPTION), options.lenientStringOption)
+                .setTooltip(translated(OPTION_CAT1_LENIENT_STRING_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.lenientStringOptionDefault)
                 .setSaveConsumer(val -> options.lenientStringOption = val)
                 .build());
 
         // String field (strict) with dropdown suggestion provider
         firstCat.addEntry(eb.startStringDropdownMenu(
-                localized("option", "cat1.strictStringOption"), options.strictStringOption)
-                .setTooltip(localized("option", "cat1.strictStringOption.tooltip"))
+                translated(OPTION_CAT1_STRICT_STRING_OPTION), options.strictStringOption)
+                .setTooltip(translated(OPTION_CAT1_STRICT_STRING_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.strictStringOptionDefault)
                 .setSaveConsumer(val -> options.strictStringOption = val)
                 .setSelections(Config.Options.strictStringOptionValues)
                 .setErrorSupplier(val -> {
                     if (Config.Options.strictStringOptionValues.contains(val)) return Optional.empty();
-                    else return Optional.of(localized("option", "cat1.strictStringOption.error"));
+                    else return Optional.of(translated(OPTION_CAT1_STRICT_STRING_OPTION_ERROR));
                 })
                 .build());
 
         // Enum dropdown
         firstCat.addEntry(eb.startDropdownMenu(
-                localized("option", "cat1.enumOption"), options.enumOption,
+                translated(OPTION_CAT1_ENUM_OPTION), options.enumOption,
                         Config.TriState::valueOf)
-                .setTooltip(localized("option", "cat1.enumOption.tooltip"))
+                .setTooltip(translated(OPTION_CAT1_ENUM_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.enumOptionDefault)
                 .setSaveConsumer(val -> options.enumOption = val)
                 .setSelections(List.of(Config.TriState.values()))
@@ -145,32 +147,32 @@ public class ClothScreenProvider {
 
         // Enum cycling button
         firstCat.addEntry(eb.startEnumSelector(
-                localized("option", "cat1.enumOption"),
+                translated(OPTION_CAT1_ENUM_OPTION),
                         Config.TriState.class, options.enumOption)
-                .setTooltip(localized("option", "cat1.enumOption.tooltip"))
+                .setTooltip(translated(OPTION_CAT1_ENUM_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.enumOptionDefault)
                 .setSaveConsumer(val -> options.enumOption = val)
                 .setEnumNameProvider(val ->
-                        localized("option", "cat1.enumOption.value", val.name())) // op
+                        translatable(OPTION_CAT1_ENUM_OPTION_VALUE, val.name())) // op
                 .build());
 
         // Object (in this case, string) list cycling button
         firstCat.addEntry(eb.startSelector(
-                localized("option", "cat1.cyclingObjectOption"),
+                translated(OPTION_CAT1_CYCLING_OBJECT_OPTION),
                         Config.Options.strictStringOptionValues.toArray(), options.strictStringOption)
-                .setTooltip(localized("option", "cat1.cyclingObjectOption.tooltip"))
+                .setTooltip(translated(OPTION_CAT1_CYCLING_OBJECT_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.strictStringOptionDefault)
                 .setSaveConsumer(val -> options.strictStringOption = (String)val)
                 .setNameProvider(val -> Component.literal((String)val)) // op
                 .build());
 
         // Second category
-        ConfigCategory secondCat = builder.getOrCreateCategory(localized("option", "cat2"));
+        ConfigCategory secondCat = builder.getOrCreateCategory(translated(OPTION_CAT2));
 
         // Collapsible list of strings (also available for Integer, Float, Double, Long)
         secondCat.addEntry(eb.startStrList(
-                localized("option", "cat2.stringListOption"), options.stringListOption)
-                .setTooltip(localized("option", "cat2.stringListOption.tooltip"))
+                translated(OPTION_CAT2_STRING_LIST_OPTION), options.stringListOption)
+                .setTooltip(translated(OPTION_CAT2_STRING_LIST_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.stringListOptionDefault)
                 .setSaveConsumer(val -> options.stringListOption = val)
                 .setCreateNewInstance((entry) -> new StringListListEntry.StringListCell(
@@ -180,39 +182,39 @@ public class ClothScreenProvider {
                 .build());
 
         // Third category
-        ConfigCategory thirdCat = builder.getOrCreateCategory(localized("option", "cat3"));
+        ConfigCategory thirdCat = builder.getOrCreateCategory(translated(OPTION_CAT3));
 
         // Multiline text
         thirdCat.addEntry(eb.startTextDescription(
-                localized("option", "cat3.message"))
+                translated(OPTION_CAT3_MESSAGE))
                 .build());
 
         // Collapsible group of options
         SubCategoryBuilder thirdCatFirstGroup = eb.startSubCategory(
-                localized("option", "cat3.group1"))
-                .setTooltip(localized("option", "cat3.group1.tooltip"))
+                translated(OPTION_CAT3_GROUP1))
+                .setTooltip(translated(OPTION_CAT3_GROUP1_TOOLTIP))
                 .setExpanded(true); // op, default false
 
         thirdCatFirstGroup.add(eb.startColorField(
-                localized("option", "cat3.group1.rgbOption"), options.rgbOption)
-                .setTooltip(localized("option", "cat3.group1.rgbOption.tooltip"))
+                translated(OPTION_CAT3_GROUP1_RGB_OPTION), options.rgbOption)
+                .setTooltip(translated(OPTION_CAT3_GROUP1_RGB_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.rgbOptionDefault)
                 .setSaveConsumer(val -> options.rgbOption = val)
                 .setAlphaMode(false) // op, default false
                 .build());
 
         thirdCatFirstGroup.add(eb.startColorField(
-                        localized("option", "cat3.group1.argbOption"), options.argbOption)
-                .setTooltip(localized("option", "cat3.group1.argbOption.tooltip"))
+                        translated(OPTION_CAT3_GROUP1_ARGB_OPTION), options.argbOption)
+                .setTooltip(translated(OPTION_CAT3_GROUP1_ARGB_OPTION_TOOLTIP))
                 .setDefaultValue(Config.Options.argbOptionDefault)
                 .setSaveConsumer(val -> options.argbOption = val)
                 .setAlphaMode(true) // op, default false
                 .build());
 
         thirdCatFirstGroup.add(eb.startKeyCodeField(
-                localized("option", "cat3.group1.keyOption"),
+                translated(OPTION_CAT3_GROUP1_KEY_OPTION),
                         InputConstants.getKey(options.keyOption, options.keyOption))
-                .setTooltip(localized("option", "cat3.group1.keyOption.tooltip"))
+                .setTooltip(translated(OPTION_CAT3_GROUP1_KEY_OPTION_TOOLTIP))
                 .setDefaultValue(InputConstants.getKey(Config.Options.keyExampleDefault,
                         Config.Options.keyExampleDefault))
                 .setKeySaveConsumer(val -> options.keyOption = val.getValue())
@@ -225,14 +227,14 @@ public class ClothScreenProvider {
         Set<String> items = new HashSet<>(BuiltInRegistries.ITEM.keySet()
                 .stream().map(ResourceLocation::toString).toList());
         thirdCatFirstGroup.add(eb.startStringDropdownMenu(
-                        localized("option", "cat3.group1.itemOption"), options.itemOption)
-                .setTooltip(localized("option", "cat3.group1.itemOption.tooltip"))
-                .setDefaultValue(Config.Options.itemOptionDefault)
+                        translated(OPTION_CAT3_GROUP1_ITEM_OPTION), options.itemOption)
+                .setTooltip(translated(OPTION_CAT3_GROUP1_ITEM_OPTION_TOOLTIP))
+                .setDefaultValue(Config.Options.itemOptionDefault.get())
                 .setSaveConsumer(val -> options.itemOption = val)
                 .setSelections(items)
                 .setErrorSupplier(val -> {
                     if (items.contains(val)) return Optional.empty();
-                    else return Optional.of(localized("option", "cat3.group1.itemOption.error"));
+                    else return Optional.of(translated(OPTION_CAT3_GROUP1_ITEM_OPTION_ERROR));
                 })
                 .build());
 
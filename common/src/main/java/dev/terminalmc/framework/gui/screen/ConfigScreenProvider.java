@@ -11,6 +11,8 @@
 
 package dev.terminalmc.framework.gui.screen;
 
+import dev.terminalmc.framework.util.JfrEvents;
+import dev.terminalmc.framework.util.Metrics;
 import net.minecraft.Util;
 import net.minecraft.client.gui.components.Button;
 import net.minecraft.client.gui.components.MultiLineTextWidget;
@@ -18,7 +20,8 @@ import net.minecraft.client.gui.screens.ConfirmLinkScreen;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.network.chat.CommonComponents;
 
-import static dev.terminalmc.framework.util.Localization.localized;
+import static dev.terminalmc.framework.util.Localization.translated;
+import static dev.terminalmc.framework.util.TranslationKeys.*;
 
 /**
  * Wraps the config screen implementation and provides a backup screen for
@@ -28,24 +31,33 @@ import static dev.terminalmc.framework.util.Localization.localized;
 public class ConfigScreenProvider {
 
     public static Screen getConfigScreen(Screen parent) {
+        long start = Metrics.SCREEN_BUILD.start();
+        JfrEvents.ScreenBuild event = new JfrEvents.ScreenBuild();
+        event.begin();
         try {
+//            event.backend = "cloth";
 //            return ClothScreenProvider.getConfigScreen(parent);
+            event.backend = "yacl";
             return YaclScreenProvider.getConfigScreen(parent);
         } catch (NoClassDefFoundError ignored) {
-//            return new BackupScreen(parent, "installCloth", "https://modrinth.com/mod/9s6osm5g");
-            return new BackupScreen(parent, "installYacl", "https://modrinth.com/mod/1eAoo2KR");
+            event.backend = "backup";
+//            return new BackupScreen(parent, MESSAGE_INSTALL_CLOTH, "https://modrinth.com/mod/9s6osm5g");
+            return new BackupScreen(parent, MESSAGE_INSTALL_YACL, "https://modrinth.com/mod/1eAoo2KR");
+        } finally {
+            event.commit();
+            Metrics.SCREEN_BUILD.stop(start);
         }
     }
 
     static class BackupScreen extends Screen {
         private final Screen parent;
-        private final String modKey;
+        private final String messageKey;
         private final String modUrl;
 
-        public BackupScreen(Screen parent, String modKey, String modUrl) {
-            super(localized("name"));
+        public BackupScreen(Screen parent, String messageKey, String modUrl) {
+            super(translated(NAME));
             this.parent = parent;
-            this.modKey = modKey;
+            this.messageKey = messageKey;
             this.modUrl = modUrl;
         }
 
@@ -53,13 +65,13 @@ public class ConfigScreenProvider {
         public void init() {
             MultiLineTextWidget messageWidget = new MultiLineTextWidget(
                     width / 2 - 120, height / 2 - 40,
-                    localized("message", modKey),
+                    translated(messageKey),
                     minecraft.font);
             messageWidget.setMaxWidth(240);
             messageWidget.setCentered(true);
             addRenderableWidget(messageWidget);
 
-            Button openLinkButton = Button.builder(localized("message", "viewModrinth"),
+            Button openLinkButton = Button.builder(translated(MESSAGE_VIEW_MODRINTH),
                             (button) -> minecraft.setScreen(new ConfirmLinkScreen(
                                     (open) -> {
                                         if (open) Util.getPlatform().openUri(modUrl);
@@ -28,7 +28,9 @@ import net.minecraft.world.item.Item;
 import java.awt.Color;
 import java.util.List;
 
-import static dev.terminalmc.framework.util.Localization.localized;
+import static dev.terminalmc.framework.util.Localization.translatable;
+import static dev.terminalmc.framework.util.Localization.translated;
+import static dev.terminalmc.framework.util.TranslationKeys.*;
 
 public class YaclScreenProvider {
     /**
@@ -80,19 +82,19 @@ public class YaclScreenProvider {
         Config.Options options = Config.options();
 
         YetAnotherConfigLib.Builder builder = YetAnotherConfigLib.createBuilder()
-                .title(localized("name"))
-                .save(Config::save);
+                .title(translated(NAME))
+                .save(Config::saveAsync);
 
         // First category
         ConfigCategory.Builder firstCat = ConfigCategory.createBuilder()
-                .name(localized("option", "cat1"))
-                .tooltip(localized("option", "cat1.tooltip")); // op
+                .name(translated(OPTION_CAT1))
+                .tooltip(translated(OPTION_CAT1_TOOLTIP)); // op
 
         // On/Off button
         firstCat.option(Option.<Boolean>createBuilder()
-                .name(localized("option", "cat1.booleanOption"))
+                .name(translated(OPTION_CAT1_BOOLEAN_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.booleanOption.tooltip")))
+                        translated(OPTION_CAT1_BOOLEAN_OPTION_TOOLTIP)))
                 .binding(Config.Options.booleanOptionDefault,
                         () -> options.booleanOption,
                         val -> options.booleanOption = val)
@@ -101,9 +103,9 @@ public class YaclScreenProvider {
 
         // Colored Yes/No button
         firstCat.option(Option.<Boolean>createBuilder()
-                .name(localized("option", "cat1.booleanOption"))
+                .name(translated(OPTION_CAT1_BOOLEAN_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.booleanOption.tooltip")))
+                        translated(OPTION_CAT1_BOOLEAN_OPTION_TOOLTIP)))
                 .binding(Config.Options.booleanOptionDefault,
                         () -> options.booleanOption,
                         val -> options.booleanOption = val)
@@ -114,24 +116,24 @@ public class YaclScreenProvider {
 
         // Colored Custom/Custom button
         firstCat.option(Option.<Boolean>createBuilder()
-                .name(localized("option", "cat1.booleanOption"))
+                .name(translated(OPTION_CAT1_BOOLEAN_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.booleanOption.tooltip")))
+                        translated(OPTION_CAT1_BOOLEAN_OPTION_TOOLTIP)))
                 .binding(Config.Options.booleanOptionDefault,
                         () -> options.booleanOption,
                         val -> options.booleanOption = val)
                 .controller(option -> BooleanControllerBuilder.create(option)
                         .coloured(true) // op
                         .formatValue(val -> val // op
-                                ? localized("option", "cat1.booleanOption.true")
-                                : localized("option", "cat1.booleanOption.false")))
+                                ? translated(OPTION_CAT1_BOOLEAN_OPTION_TRUE)
+                                : translated(OPTION_CAT1_BOOLEAN_OPTION_FALSE)))
                 .build());
 
         // Check box
         firstCat.option(Option.<Boolean>createBuilder()
-                .name(localized("option", "cat1.booleanOption"))
+                .name(translated(OPTION_CAT1_BOOLEAN_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.booleanOption.tooltip")))
+                        translated(OPTION_CAT1_BOOLEAN_OPTION_TOOLTIP)))
                 .binding(Config.Options.booleanOptionDefault,
                         () -> options.booleanOption,
                         val -> options.booleanOption = val)
@@ -140,9 +142,9 @@ public class YaclScreenProvider {
 
         // Integer slider with value text formatting (also available for Float, Double, Long)
         firstCat.option(Option.<Integer>createBuilder()
-                .name(localized("option", "cat1.intOption"))
+                .name(translated(OPTION_CAT1_INT_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.intOption.tooltip")))
+                        translated(OPTION_CAT1_INT_OPTION_TOOLTIP)))
                 .binding(Config.Options.intOptionDefault,
                         () -> options.intOption,
                         val -> options.intOption = val)
@@ -150,14 +152,14 @@ public class YaclScreenProvider {
                         .range(0, 10)
                         .step(1)
                         .formatValue(val -> // op
-                                localized("option", "cat1.intOption.value", val)))
+                                translatable(OPTION_CAT1_INT_OPTION_VALUE, val)))
                 .build());
 
         // Double field with range (also available for Integer, Float, Long)
         firstCat.option(Option.<Double>createBuilder()
-                .name(localized("option", "cat1.doubleOption"))
+                .name(translated(OPTION_CAT1_DOUBLE_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.doubleOption.tooltip")))
+                        translated(OPTION_CAT1_DOUBLE_OPTION_TOOLTIP)))
                 .binding(Config.Options.doubleOptionDefault,
                         () -> options.doubleOption,
                         val -> options.doubleOption = val)
@@ -165,14 +167,14 @@ public class YaclScreenProvider {
                         .min(0d) // op
                         .max(10d) // op
                         .formatValue(val -> // op
-                                localized("option", "cat1.intOption.value", val)))
+                                translatable(OPTION_CAT1_INT_OPTION_VALUE, val)))
                 .build());
 
         // String field (lenient)
         firstCat.option(Option.<String>createBuilder()
-                .name(localized("option", "cat1.lenientStringOption"))
+                .name(translated(OPTION_CAT1_LENIENT_STRING_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.lenientStringOption.tooltip")))
+                        translated(OPTION_CAT1_LENIENT_STRING_OPTION_TOOLTIP)))
                 .binding(Config.Options.lenientStringOptionDefault,
                         () -> options.lenientStringOption,
                         val -> options.lenientStringOption = val)
@@ -181,9 +183,9 @@ public class YaclScreenProvider {
 
         // String field (strict) with dropdown suggestion provider
         firstCat.option(Option.<String>createBuilder()
-                .name(localized("option", "cat1.strictStringOption"))
+                .name(translated(OPTION_CAT1_STRICT_STRING_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.strictStringOption.tooltip")))
+                        translated(OPTION_CAT1_STRICT_STRING_OPTION_TOOLTIP)))
                 .binding(Config.Options.strictStringOptionDefault,
                         () -> options.strictStringOption,
                         val -> options.strictStringOption = val)
@@ -195,9 +197,9 @@ public class YaclScreenProvider {
 
         // Enum dropdown
         firstCat.option(Option.<Config.TriState>createBuilder()
-                .name(localized("option", "cat1.enumOption"))
+                .name(translated(OPTION_CAT1_ENUM_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.enumOption.tooltip")))
+                        translated(OPTION_CAT1_ENUM_OPTION_TOOLTIP)))
                 .binding(Config.Options.enumOptionDefault,
                         () -> options.enumOption,
                         val -> options.enumOption = val)
@@ -206,9 +208,9 @@ public class YaclScreenProvider {
 
         // Enum cycling button
         firstCat.option(Option.<Config.TriState>createBuilder()
-                .name(localized("option", "cat1.enumOption"))
+                .name(translated(OPTION_CAT1_ENUM_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.enumOption.tooltip")))
+                        translated(OPTION_CAT1_ENUM_OPTION_TOOLTIP)))
                 .binding(Config.Options.enumOptionDefault,
                         () -> options.enumOption,
                         val -> options.enumOption = val)
@@ -219,9 +221,9 @@ public class YaclScreenProvider {
 
         // Object (in this case, string) list cycling button
         firstCat.option(Option.<String>createBuilder()
-                .name(localized("option", "cat1.strictStringOption"))
+                .name(translated(OPTION_CAT1_STRICT_STRING_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat1.strictStringOption.tooltip")))
+                        translated(OPTION_CAT1_STRICT_STRING_OPTION_TOOLTIP)))
                 .binding(Config.Options.strictStringOptionDefault,
                         () -> options.strictStringOption,
                         val -> options.strictStringOption = val)
@@ -232,14 +234,14 @@ public class YaclScreenProvider {
 
         // Second category
         ConfigCategory.Builder secondCat = ConfigCategory.createBuilder()
-                .name(localized("option", "cat2"))
-                .tooltip(localized("option", "cat2.tooltip")); // op
+                .name(translated(OPTION_CAT2))
+                .tooltip(translated(OPTION_CAT2_TOOLTIP)); // op
 
         // Collapsible list of options (in this case, strings)
         secondCat.group(ListOption.<String>createBuilder()
-                .name(localized("option", "cat2.stringListOption"))
+                .name(translated(OPTION_CAT2_STRING_LIST_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat2.stringListOption.tooltip")))
+                        translated(OPTION_CAT2_STRING_LIST_OPTION_TOOLTIP)))
                 .binding(Config.Options.stringListOptionDefault,
                         () -> options.stringListOption,
                         val -> options.stringListOption = val)
@@ -253,39 +255,39 @@ public class YaclScreenProvider {
 
         // Third category
         ConfigCategory.Builder thirdCat = ConfigCategory.createBuilder()
-                .name(localized("option", "cat3"))
-                .tooltip(localized("option", "cat3.tooltip")); // op
+                .name(translated(OPTION_CAT3))
+                .tooltip(translated(OPTION_CAT3_TOOLTIP)); // op
 
         // Multiline text
         thirdCat.option(LabelOption.createBuilder()
-                .lines(List.of(localized("option", "cat3.message")))
+                .lines(List.of(translated(OPTION_CAT3_MESSAGE)))
                 .build());
 
         // Action button
         thirdCat.option(ButtonOption.createBuilder()
-                .name(localized("option", "cat3.action"))
+                .name(translated(OPTION_CAT3_ACTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat3.action.tooltip")))
+                        translated(OPTION_CAT3_ACTION_TOOLTIP)))
                 .action((screen, option) -> {
                     screen.finishOrSave();
                     screen.onClose();
                     Minecraft.getInstance().setScreen(ClothScreenProvider.getConfigScreen(parent));
                 })
-                .text(localized("option", "cat3.action.text")) // op
+                .text(translated(OPTION_CAT3_ACTION_TEXT)) // op
                 .build());
 
         // Collapsible group of options
         OptionGroup.Builder thirdCatFirstGroup = OptionGroup.createBuilder()
-                .name(localized("option", "cat3.group1"))
+                .name(translated(OPTION_CAT3_GROUP1))
                 .description(OptionDescription.of(
-                        localized("option", "cat3.group1.tooltip")))
+                        translated(OPTION_CAT3_GROUP1_TOOLTIP)))
                 .collapsed(false); // op, default false
 
         // RGB hex color field with color-selection GUI
         thirdCatFirstGroup.option(Option.<Color>createBuilder()
-                .name(localized("option", "cat3.group1.rgbOption"))
+                .name(translated(OPTION_CAT3_GROUP1_RGB_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat3.group1.rgbOption.tooltip")))
+                        translated(OPTION_CAT3_GROUP1_RGB_OPTION_TOOLTIP)))
                 .binding(fromRgb(Config.Options.rgbOptionDefault),
                         () -> fromRgb(options.rgbOption),
                         val -> options.rgbOption = toRgb(val))
@@ -295,9 +297,9 @@ public class YaclScreenProvider {
 
         // ARGB hex color field with color-selection GUI
         thirdCatFirstGroup.option(Option.<Color>createBuilder()
-                .name(localized("option", "cat3.group1.argbOption"))
+                .name(translated(OPTION_CAT3_GROUP1_ARGB_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat3.group1.argbOption.tooltip")))
+                        translated(OPTION_CAT3_GROUP1_ARGB_OPTION_TOOLTIP)))
                 .binding(fromArgb(Config.Options.argbOptionDefault),
                         () -> fromArgb(options.argbOption),
                         val -> options.argbOption = val.getRGB())
@@ -307,10 +309,10 @@ public class YaclScreenProvider {
 
         // Item field with dropdown
         thirdCatFirstGroup.option(Option.<Item>createBuilder()
-                .name(localized("option", "cat3.group1.itemOption"))
+                .name(translated(OPTION_CAT3_GROUP1_ITEM_OPTION))
                 .description(OptionDescription.of(
-                        localized("option", "cat3.group1.itemOption.tooltip")))
-                .binding(asItem(Config.Options.itemOptionDefault),
+                        translated(OPTION_CAT3_GROUP1_ITEM_OPTION_TOOLTIP)))
+                .binding(asItem(Config.Options.itemOptionDefault.get()),
                         () -> asItem(options.itemOption),
                         val -> options.itemOption = asString(val))
                 .controller(ItemControllerBuilder::create) // No options
@@ -320,21 +322,21 @@ public class YaclScreenProvider {
 
         // Fourth category
         ConfigCategory.Builder fourthCat = ConfigCategory.createBuilder()
-                .name(localized("option", "cat4"))
-                .tooltip(localized("option", "cat4.tooltip")); // op
+                .name(translated(OPTION_CAT4))
+                .tooltip(translated(OPTION_CAT4_TOOLTIP)); // op
         
         int i = 0;
         for (Config.CustomObject co : options.customObjectList) {
             i++;
             OptionGroup.Builder coGroup = OptionGroup.createBuilder();
-            coGroup.name(localized("option", "cat4.customObjectGroup", i));
+            coGroup.name(translatable(OPTION_CAT4_CUSTOM_OBJECT_GROUP, i));
             coGroup.collapsed(true);
 
             // String field (lenient)
             coGroup.option(Option.<String>createBuilder()
-                    .name(localized("option", "cat4.name"))
+                    .name(translated(OPTION_CAT4_NAME))
                     .description(OptionDescription.of(
-                            localized("option", "cat4.name.tooltip")))
+                            translated(OPTION_CAT4_NAME_TOOLTIP)))
                     .binding(Config.CustomObject.nameDefault,
                             () -> co.name,
                             val -> co.name = val)
@@ -343,21 +345,21 @@ public class YaclScreenProvider {
 
             // Int field with range (also available for Double, Float, Long)
             coGroup.option(Option.<Integer>createBuilder()
-                    .name(localized("option", "cat4.size"))
+                    .name(translated(OPTION_CAT4_SIZE))
                     .description(OptionDescription.of(
-                            localized("option", "cat4.size.tooltip")))
+                            translated(OPTION_CAT4_SIZE_TOOLTIP)))
                     .binding(Config.CustomObject.sizeDefault,
                             () -> co.size,
                             val -> co.size = val)
                     .controller(option -> IntegerFieldControllerBuilder.create(option)
-                            .min(0) // op
-                            .max(10) // op
+                            .min(Config.CustomObject.sizeMin) // op
+                            .max(Config.CustomObject.sizeMax) // op
                             .formatValue(val -> // op
-                                    localized("option", "cat4.size.value", val)))
+                                    translatable(OPTION_CAT4_SIZE_VALUE, val)))
                     .build());
             
             coGroup.option(ButtonOption.createBuilder()
-                    .name(localized("option", "cat4.delete")
+                    .name(translatable(OPTION_CAT4_DELETE)
                             .withStyle(ChatFormatting.RED))
                     .action((screen, buttonOption) -> {
                         options.customObjectList.remove(co);
@@ -369,7 +371,7 @@ public class YaclScreenProvider {
         }
 
         ButtonOption.Builder addButton = ButtonOption.createBuilder();
-        addButton.name(localized("option", "cat4.add")
+        addButton.name(translatable(OPTION_CAT4_ADD)
                 .withStyle(ChatFormatting.GREEN));
         addButton.action((screen, buttonOption) -> {
             options.customObjectList.add(new Config.CustomObject());
@@ -435,13 +437,13 @@ public class YaclScreenProvider {
             try {
                 newScreen.tabNavigationBar.selectTab(tab, false);
             } catch (IndexOutOfBoundsException e) {
-                Framework.LOG.warn("YACL reload hack attempted to select tab {} but max index was {}",
+                Framework.GUI_LOG.warn("YACL reload hack attempted to select tab {} but max index was {}",
                         tab, newScreen.tabNavigationBar.getTabs().size() - 1);
             }
             Minecraft.getInstance().setScreen(newScreen);
         } catch (Exception e) {
             Minecraft.getInstance().setScreen(parent);
-            Framework.LOG.error("YACL reload hack failed with exception\n{}", e);
+            Framework.GUI_LOG.error("YACL reload hack failed with exception\n{}", e);
         }
     }
 }
@@ -0,0 +1,31 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.mixin;
+
+import dev.terminalmc.framework.gui.overlay.ProfilerOverlay;
+import net.minecraft.client.DeltaTracker;
+import net.minecraft.client.gui.Gui;
+import net.minecraft.client.gui.GuiGraphics;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Gui.class)
+public class MixinGui {
+
+    @Inject(method = "render", at = @At("TAIL"))
+    private void renderProfilerOverlay(GuiGraphics graphics, DeltaTracker deltaTracker,
+                                       CallbackInfo info) {
+        ProfilerOverlay.render(graphics);
+    }
+}
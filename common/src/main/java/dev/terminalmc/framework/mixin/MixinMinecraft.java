@@ -7,6 +7,8 @@
 package dev.terminalmc.framework.mixin;
 
 import dev.terminalmc.framework.Framework;
+import dev.terminalmc.framework.util.FrameProfiler;
+import dev.terminalmc.framework.util.StartupTrace;
 import net.minecraft.client.Minecraft;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -18,7 +20,23 @@ public class MixinMinecraft {
 
     @Inject(method = "<init>", at = @At("TAIL"))
     private void init(CallbackInfo info) {
+        StartupTrace.mark("Minecraft.<init>");
         Framework.LOG.info("This line is printed by an example mod common mixin!");
         Framework.LOG.info("MC Version: {}", Minecraft.getInstance().getVersionType());
     }
+
+    @Inject(method = "runTick", at = @At("HEAD"))
+    private void startFrame(boolean renderLevel, CallbackInfo info) {
+        FrameProfiler.onFrameStart();
+    }
+
+    @Inject(method = "tick", at = @At("HEAD"))
+    private void startTick(CallbackInfo info) {
+        FrameProfiler.onTickStart();
+    }
+
+    @Inject(method = "tick", at = @At("RETURN"))
+    private void endTick(CallbackInfo info) {
+        FrameProfiler.onTickEnd();
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.Message;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded, lock-free, multi-producer single-consumer ring buffer of log
+ * events, drained to the destination {@link Logger}s by a daemon thread.
+ *
+ * <p>Each slot carries a sequence number which tells producers and the
+ * consumer whether it is free or filled, so neither side takes a lock.</p>
+ *
+ * <p>The drain thread parks while the buffer is empty, and is unparked by
+ * the producer which fills the first slot.</p>
+ */
+final class AsyncLogBuffer {
+    private static final int BATCH_SIZE = 64;
+    private static final long STOP_TIMEOUT_MS = 2000;
+
+    record Event(Logger logger, Level level, Message message) {
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Event> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final Thread thread;
+    // Producers between checking running and publishing their event
+    private final AtomicInteger offering = new AtomicInteger();
+    private volatile boolean running = true;
+    private volatile boolean sleeping = false;
+
+    /**
+     * @param capacity the minimum number of buffered events; rounded up to a
+     *                 power of two.
+     */
+    AsyncLogBuffer(int capacity, String threadName) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.thread = new Thread(this::drainLoop, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the approximate number of buffered events.
+     */
+    int size() {
+        return (int)Math.max(0, head.get() - tail.get());
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    boolean isDrainThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * @return {@code true} if the event was buffered, {@code false} if the
+     * buffer is full or stopped. An event which is buffered is always
+     * logged, even if the buffer is stopped concurrently.
+     */
+    boolean offer(Event event) {
+        offering.incrementAndGet();
+        try {
+            if (!running) return false;
+            if (!publish(event)) return false;
+        } finally {
+            offering.decrementAndGet();
+        }
+        // Ordered after the publishing write, so the consumer either sees
+        // the event before parking or is unparked here
+        if (sleeping) LockSupport.unpark(thread);
+        return true;
+    }
+
+    private boolean publish(Event event) {
+        long pos = head.get();
+        while (true) {
+            int i = (int)(pos & mask);
+            long diff = sequences.get(i) - pos;
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(i, event);
+                    // Publishes the slot to the consumer
+                    sequences.set(i, pos + 1);
+                    return true;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    private boolean isEmpty() {
+        long pos = tail.get();
+        return sequences.get((int)(pos & mask)) != pos + 1;
+    }
+
+    private Event poll() {
+        long pos = tail.get();
+        int i = (int)(pos & mask);
+        if (sequences.get(i) != pos + 1) return null;
+        Event event = slots.get(i);
+        slots.lazySet(i, null);
+        // Frees the slot for the producer one lap ahead
+        sequences.set(i, pos + capacity);
+        tail.lazySet(pos + 1);
+        return event;
+    }
+
+    private int drain(int max) {
+        int count = 0;
+        Event event;
+        while (count < max && (event = poll()) != null) {
+            event.logger().log(event.level(), event.message());
+            count++;
+        }
+        return count;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drain(BATCH_SIZE) > 0) continue;
+            sleeping = true;
+            // Rechecked after announcing, so that a concurrent offer is not
+            // missed
+            if (running && isEmpty()) LockSupport.park(this);
+            sleeping = false;
+        }
+        // Closed to new offers, so wait for those in progress to publish
+        while (offering.get() != 0) {
+            Thread.onSpinWait();
+        }
+        drain(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Stops accepting events and waits for buffered events to be drained.
+     */
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import dev.terminalmc.framework.Framework;
+import dev.terminalmc.framework.command.ChatOutput;
+import dev.terminalmc.framework.config.Config;
+import dev.terminalmc.framework.gui.screen.ConfigScreenProvider;
+import net.minecraft.ChatFormatting;
+import net.minecraft.client.Minecraft;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static dev.terminalmc.framework.util.Localization.*;
+import static dev.terminalmc.framework.util.TranslationKeys.*;
+
+/**
+ * Runs warmed-up, iterated timings of a {@link Target} inside the live
+ * client.
+ *
+ * <p>Iterations are spread across client ticks by the
+ * {@link Framework#SCHEDULER}, within its per-tick time budget, so that the
+ * game does not freeze. Results are sent to chat and
+ * written to {@link #DIR_PATH}.</p>
+ */
+public class Benchmark {
+    public static final int WARMUP_ITERATIONS = 50;
+    public static final int ITERATIONS = 500;
+    private static final Path DIR_PATH = Path.of("logs");
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static Benchmark current = null;
+
+    public enum Target {
+        CONFIG_LOAD,
+        CONFIG_SAVE,
+        SCREEN,
+        LOCALIZATION;
+
+        public String id() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Optional<Target> byId(String id) {
+            return Arrays.stream(values()).filter((t) -> t.id().equals(id)).findFirst();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Iteration {
+        void run() throws Exception;
+    }
+
+    private final Target target;
+    private final Path tempDir;
+    private final Iteration iteration;
+    private final long[] samples = new long[ITERATIONS];
+    private int warmup = 0;
+    private int count = 0;
+
+    private Benchmark(Target target) throws IOException {
+        this.target = target;
+        this.tempDir = Files.createTempDirectory(Framework.MOD_ID + "-bench");
+        this.iteration = createIteration(target, tempDir);
+    }
+
+    /**
+     * Starts a benchmark of {@code target}, unless one is already running.
+     */
+    public static void start(Target target) {
+        if (current != null) {
+            ChatOutput.send(translatable(MESSAGE_BENCH_BUSY).withStyle(ChatFormatting.RED));
+            return;
+        }
+        try {
+            current = new Benchmark(target);
+            Framework.SCHEDULER.submit(TickScheduler.Priority.LOW, current::tick);
+            ChatOutput.send(translatable(MESSAGE_BENCH_STARTED, target.id()));
+        } catch (IOException e) {
+            Framework.LOG.error("Unable to start benchmark", e);
+            ChatOutput.send(translatable(MESSAGE_BENCH_FAILED, e.getMessage())
+                    .withStyle(ChatFormatting.RED));
+        }
+    }
+
+    /**
+     * Runs iterations of the current benchmark until {@code deadline}.
+     * @return {@code true} if the benchmark is complete or has failed.
+     */
+    private boolean tick(long deadline) {
+        try {
+            if (step(deadline)) {
+                current = null;
+                finish();
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            current = null;
+            deleteTempDir();
+            Framework.LOG.error("Benchmark of {} failed", target.id(), e);
+            ChatOutput.send(translatable(MESSAGE_BENCH_FAILED, e.getMessage())
+                    .withStyle(ChatFormatting.RED));
+            return true;
+        }
+    }
+
+    /**
+     * @return {@code true} if all iterations have been run.
+     */
+    private boolean step(long deadline) throws Exception {
+        while (count < ITERATIONS && System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            iteration.run();
+            long time = System.nanoTime() - start;
+            if (warmup < WARMUP_ITERATIONS) warmup++;
+            else samples[count++] = time;
+        }
+        return count == ITERATIONS;
+    }
+
+    private void finish() {
+        deleteTempDir();
+        Arrays.sort(samples);
+        long total = 0;
+        for (long sample : samples) total += sample;
+        String result = String.format(
+                "%s: %d iterations, mean %.3f, p50 %.3f, p90 %.3f, p99 %.3f, max %.3f ms",
+                target.id(), ITERATIONS, total / (double)ITERATIONS / 1e6,
+                percentile(0.5) / 1e6, percentile(0.9) / 1e6,
+                percentile(0.99) / 1e6, samples[ITERATIONS - 1] / 1e6);
+        ChatOutput.send(result);
+
+        try {
+            if (!Files.isDirectory(DIR_PATH)) Files.createDirectories(DIR_PATH);
+            Path file = DIR_PATH.resolve(String.format("%s-bench-%s-%s.txt", Framework.MOD_ID,
+                    target.id(), LocalDateTime.now().format(TIME_FORMAT)));
+            List<String> lines = new ArrayList<>();
+            lines.add(result);
+            lines.add("warmup: " + WARMUP_ITERATIONS);
+            lines.add("samples (ns):");
+            for (long sample : samples) lines.add(Long.toString(sample));
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            ChatOutput.send(translatable(MESSAGE_BENCH_SAVED, file.toString()));
+        } catch (IOException e) {
+            Framework.LOG.error("Unable to write benchmark results", e);
+        }
+    }
+
+    private long percentile(double p) {
+        int index = (int)Math.ceil(p * ITERATIONS) - 1;
+        return samples[Math.max(0, Math.min(ITERATIONS - 1, index))];
+    }
+
+    private void deleteTempDir() {
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach((path) -> path.toFile().delete());
+        } catch (IOException e) {
+            Framework.LOG.warn("Unable to delete benchmark directory {}", tempDir, e);
+        }
+    }
+
+    private static Iteration createIteration(Target target, Path tempDir) throws IOException {
+        Path file = tempDir.resolve(Framework.MOD_ID + ".json");
+        return switch (target) {
+            case CONFIG_LOAD -> {
+                Config.write(Config.get(), file);
+                yield () -> {
+                    if (Config.read(file) == null) throw new IOException("Unable to read config");
+                };
+            }
+            case CONFIG_SAVE -> () -> Config.write(Config.get(), file);
+            case SCREEN -> () -> {
+                Minecraft mc = Minecraft.getInstance();
+                ConfigScreenProvider.getConfigScreen(mc.screen);
+            };
+            case LOCALIZATION -> () -> {
+                for (int i = 0; i < 100; i++) {
+                    translationKey("option", "cat1.booleanOption");
+                    localized("option", "cat1.intOption.value", i);
+                    translatable(OPTION_CAT4_CUSTOM_OBJECT_GROUP, i);
+                    translated(OPTION_CAT1_BOOLEAN_OPTION_TOOLTIP);
+                }
+            };
+        };
+    }
+}
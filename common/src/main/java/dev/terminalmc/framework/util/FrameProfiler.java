@@ -0,0 +1,116 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import java.util.Arrays;
+
+/**
+ * Records the duration of recent frames and client ticks, fed by
+ * {@link dev.terminalmc.framework.mixin.MixinMinecraft}.
+ *
+ * <p>Frame time is measured from the start of one frame to the start of the
+ * next, so includes time spent waiting for vsync or the frame limiter. Tick
+ * time is the duration of the client tick.</p>
+ *
+ * <p>Recording does not allocate. Only accessed from the client thread.</p>
+ */
+public final class FrameProfiler {
+    public static final int CAPACITY = 512;
+
+    public static final Series FRAME = new Series("frame");
+    public static final Series TICK = new Series("tick");
+
+    private static long frameStart = 0;
+    private static long tickStart = 0;
+
+    public static void onFrameStart() {
+        long now = System.nanoTime();
+        if (frameStart != 0) FRAME.record(now - frameStart);
+        frameStart = now;
+    }
+
+    public static void onTickStart() {
+        tickStart = System.nanoTime();
+    }
+
+    public static void onTickEnd() {
+        if (tickStart != 0) TICK.record(System.nanoTime() - tickStart);
+    }
+
+    /**
+     * A ring buffer of the most recent {@link #CAPACITY} samples.
+     */
+    public static class Series {
+        private final String name;
+        private final long[] samples = new long[CAPACITY];
+        private final long[] sorted = new long[CAPACITY];
+        private int next = 0;
+        private int size = 0;
+        private int sortedSize = 0;
+
+        private Series(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) & (CAPACITY - 1);
+            if (size < CAPACITY) size++;
+        }
+
+        /**
+         * @param age {@code 0} for the most recent sample, up to
+         *            {@link #size()} exclusive.
+         */
+        public long get(int age) {
+            return samples[(next - 1 - age) & (CAPACITY - 1)];
+        }
+
+        /**
+         * Takes a sorted snapshot of the current samples, for use by
+         * {@link #percentile} and {@link #max}.
+         */
+        public void summarize() {
+            System.arraycopy(samples, 0, sorted, 0, size);
+            Arrays.sort(sorted, 0, size);
+            sortedSize = size;
+        }
+
+        /**
+         * @return the {@code p}th percentile of the samples as of the last
+         * {@link #summarize()}, in nanoseconds.
+         */
+        public long percentile(double p) {
+            if (sortedSize == 0) return 0;
+            int index = (int)Math.ceil(p * sortedSize) - 1;
+            return sorted[Math.max(0, Math.min(sortedSize - 1, index))];
+        }
+
+        public long max() {
+            return sortedSize == 0 ? 0 : sorted[sortedSize - 1];
+        }
+
+        public void reset() {
+            next = 0;
+            size = 0;
+            sortedSize = 0;
+        }
+    }
+}
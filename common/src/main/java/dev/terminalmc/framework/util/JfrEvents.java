@@ -0,0 +1,108 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder events emitted by the mod.
+ *
+ * <p>Events are only committed while a recording with the event enabled is
+ * running. Fields which are expensive to compute should be guarded by
+ * {@link Event#shouldCommit()}.</p>
+ */
+public final class JfrEvents {
+    private static final String CATEGORY = "Framework";
+
+    @Name("dev.terminalmc.framework.ConfigLoad")
+    @Label("Config Load")
+    @Category({CATEGORY, "Config"})
+    @StackTrace(false)
+    public static class ConfigLoad extends Event {
+        @Label("Path")
+        public String path;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Entries")
+        @Description("Number of entries in the custom object list")
+        public int entries;
+
+        @Label("Backend")
+        public String backend;
+
+        @Label("Success")
+        public boolean success;
+    }
+
+    @Name("dev.terminalmc.framework.ConfigSave")
+    @Label("Config Save")
+    @Category({CATEGORY, "Config"})
+    @StackTrace(false)
+    public static class ConfigSave extends Event {
+        @Label("Path")
+        public String path;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Backend")
+        public String backend;
+
+        @Label("Asynchronous")
+        public boolean async;
+    }
+
+    @Name("dev.terminalmc.framework.ConfigBackup")
+    @Label("Config Backup")
+    @Category({CATEGORY, "Config"})
+    @StackTrace(false)
+    public static class ConfigBackup extends Event {
+        @Label("Path")
+        public String path;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name("dev.terminalmc.framework.ScreenBuild")
+    @Label("Config Screen Build")
+    @Category({CATEGORY, "GUI"})
+    @StackTrace(false)
+    public static class ScreenBuild extends Event {
+        @Label("Backend")
+        public String backend;
+    }
+
+    @Name("dev.terminalmc.framework.Command")
+    @Label("Command Execution")
+    @Category({CATEGORY, "Command"})
+    @StackTrace(false)
+    public static class Command extends Event {
+        @Label("Input")
+        public String input;
+
+        @Label("Result")
+        public int result;
+    }
+
+    @Name("dev.terminalmc.framework.Tick")
+    @Label("End Tick")
+    @Category({CATEGORY, "Tick"})
+    @StackTrace(false)
+    public static class Tick extends Event {
+    }
+}
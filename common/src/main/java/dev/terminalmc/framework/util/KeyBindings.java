@@ -0,0 +1,134 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import net.minecraft.client.KeyMapping;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.screens.Screen;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Maps {@link KeyMapping}s to actions, and dispatches all pressed keys in a
+ * single pass per tick.
+ *
+ * <p>Each {@link KeyMapping} is registered with the loader once, via
+ * {@link #mappings()}, and may have several actions bound with different
+ * {@link Modifier}s. The most specific matching action is run.</p>
+ */
+public class KeyBindings {
+    public enum Modifier {
+        /** Matches regardless of modifier keys. */
+        ANY,
+        /** Matches only when no modifier key is held. */
+        NONE,
+        SHIFT,
+        CONTROL,
+        ALT;
+
+        boolean matches(boolean shift, boolean control, boolean alt) {
+            return switch (this) {
+                case ANY -> true;
+                case NONE -> !shift && !control && !alt;
+                case SHIFT -> shift;
+                case CONTROL -> control;
+                case ALT -> alt;
+            };
+        }
+    }
+
+    private record Action(Modifier modifier, int debounceTicks, Consumer<Minecraft> action) {
+    }
+
+    private static class Entry {
+        private final KeyMapping mapping;
+        private Action[] actions = new Action[0];
+        private long lastFired = Long.MIN_VALUE / 2;
+
+        private Entry(KeyMapping mapping) {
+            this.mapping = mapping;
+        }
+    }
+
+    private volatile Entry[] entries = new Entry[0];
+    private long tick = 0;
+
+    /**
+     * Binds {@code action} to {@code mapping}, regardless of modifier keys.
+     * @return {@code mapping}.
+     */
+    public KeyMapping register(KeyMapping mapping, Consumer<Minecraft> action) {
+        return register(mapping, Modifier.ANY, 0, action);
+    }
+
+    /**
+     * Binds {@code action} to {@code mapping}.
+     * @param modifier the modifier key required.
+     * @param debounceTicks the minimum number of ticks between activations
+     *                      of the mapping.
+     * @return {@code mapping}.
+     */
+    public synchronized KeyMapping register(KeyMapping mapping, Modifier modifier,
+                                            int debounceTicks, Consumer<Minecraft> action) {
+        Entry entry = Arrays.stream(entries)
+                .filter((e) -> e.mapping == mapping)
+                .findFirst()
+                .orElseGet(() -> {
+                    Entry e = new Entry(mapping);
+                    entries = Arrays.copyOf(entries, entries.length + 1);
+                    entries[entries.length - 1] = e;
+                    return e;
+                });
+        Action[] actions = Arrays.copyOf(entry.actions, entry.actions.length + 1);
+        actions[actions.length - 1] = new Action(modifier, debounceTicks, action);
+        // Most specific first, so that ANY is the fallback
+        Arrays.sort(actions, Comparator.comparing((Action a) -> a.modifier() == Modifier.ANY));
+        entry.actions = actions;
+        return mapping;
+    }
+
+    /**
+     * @return all mappings with bound actions, for registration with the
+     * loader.
+     */
+    public List<KeyMapping> mappings() {
+        return Arrays.stream(entries).map((e) -> e.mapping).toList();
+    }
+
+    /**
+     * Runs the actions of all pressed keys. Called at the end of each client
+     * tick.
+     */
+    public void tick(Minecraft mc) {
+        tick++;
+        boolean shift = Screen.hasShiftDown();
+        boolean control = Screen.hasControlDown();
+        boolean alt = Screen.hasAltDown();
+        for (Entry entry : entries) {
+            // Repeated clicks within a tick are covered by one activation
+            int clicks = 0;
+            while (entry.mapping.consumeClick()) clicks++;
+            if (clicks == 0) continue;
+            for (Action action : entry.actions) {
+                if (!action.modifier().matches(shift, control, alt)) continue;
+                if (tick - entry.lastFired >= action.debounceTicks()) {
+                    entry.lastFired = tick;
+                    action.action().accept(mc);
+                }
+                break;
+            }
+        }
+    }
+}
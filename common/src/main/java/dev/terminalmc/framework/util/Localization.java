@@ -15,13 +15,41 @@ import dev.terminalmc.framework.Framework;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public final class Localization {
+    /**
+     * Interned translation keys, indexed by domain and then by path. Keys do
+     * not depend on loaded resources, so this table is never invalidated.
+     */
+    private static final Map<String, Map<String, String>> KEYS = new ConcurrentHashMap<>();
+    private static final String NO_DOMAIN = "";
+
+    /**
+     * Argument-free translatable components, indexed by translation key.
+     * Cleared on resource reload via {@link #invalidate()}.
+     */
+    private static final Map<String, Component> COMPONENTS = new ConcurrentHashMap<>();
+
     public static String translationKey(String path) {
-        return Framework.MOD_ID + "." + path;
+        String key = cachedKey(NO_DOMAIN, path);
+        if (key != null) return key;
+        return KEYS.computeIfAbsent(NO_DOMAIN, (d) -> new ConcurrentHashMap<>())
+                .computeIfAbsent(path, (p) -> Framework.MOD_ID + "." + p);
     }
 
     public static String translationKey(String domain, String path) {
-        return domain + "." + Framework.MOD_ID + "." + path;
+        String key = cachedKey(domain, path);
+        if (key != null) return key;
+        // Only computed on a miss, as the lambda captures the domain
+        return KEYS.computeIfAbsent(domain, (d) -> new ConcurrentHashMap<>())
+                .computeIfAbsent(path, (p) -> domain + "." + Framework.MOD_ID + "." + p);
+    }
+
+    private static String cachedKey(String domain, String path) {
+        Map<String, String> paths = KEYS.get(domain);
+        return paths == null ? null : paths.get(path);
     }
 
     public static MutableComponent localized(String path, Object... args) {
@@ -31,4 +59,42 @@ public final class Localization {
     public static MutableComponent localized(String domain, String path, Object... args) {
         return Component.translatable(translationKey(domain, path), args);
     }
+
+    /**
+     * @param key a precomputed key from {@link TranslationKeys}.
+     * @return a new translatable component.
+     */
+    public static MutableComponent translatable(String key, Object... args) {
+        return Component.translatable(key, args);
+    }
+
+    /**
+     * Returns a shared, argument-free translatable component.
+     *
+     * <p>The returned instance must not be modified. Use
+     * {@link #translatable(String, Object...)} if the component requires
+     * arguments or styling.</p>
+     *
+     * @param key a precomputed key from {@link TranslationKeys}.
+     */
+    public static Component translated(String key) {
+        return COMPONENTS.computeIfAbsent(key, Component::translatable);
+    }
+
+    /**
+     * @return a new message component consisting of {@link Framework#prefix()}
+     * followed by {@code message}. The prefix is shared rather than copied.
+     */
+    public static MutableComponent prefixed(Component message) {
+        Component prefix = Framework.prefix();
+        return Component.empty().withStyle(prefix.getStyle()).append(prefix).append(message);
+    }
+
+    /**
+     * Discards all cached components. Called when client resources are
+     * reloaded.
+     */
+    public static void invalidate() {
+        COMPONENTS.clear();
+    }
 }
@@ -0,0 +1,208 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A registry of lightweight counters and latency histograms.
+ *
+ * <p>Recording does not allocate. Typical usage is:</p>
+ * <pre>{@code
+ * long start = Metrics.CONFIG_SAVE.start();
+ * try {
+ *     ...
+ * } finally {
+ *     Metrics.CONFIG_SAVE.stop(start);
+ * }
+ * }</pre>
+ */
+public final class Metrics {
+    private static final Map<String, Timer> TIMERS = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static final Map<String, Counter> COUNTERS = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static volatile long resetTime = System.nanoTime();
+
+    public static final Timer CONFIG_LOAD = timer("config.load");
+    public static final Timer CONFIG_SAVE = timer("config.save");
+    public static final Timer SCREEN_BUILD = timer("screen.build");
+    public static final Timer COMMAND = timer("command");
+    public static final Timer TICK = timer("tick");
+
+    public static final Counter CONFIG_ERRORS = counter("config.errors");
+    public static final Counter CHAT_DROPPED = counter("chat.dropped");
+    public static final Counter LOG_DROPPED = counter("log.dropped");
+    public static final Counter LOG_SAMPLED = counter("log.sampled");
+
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Timer::new);
+    }
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    public static Collection<Timer> timers() {
+        synchronized (TIMERS) {
+            return List.copyOf(TIMERS.values());
+        }
+    }
+
+    public static Collection<Counter> counters() {
+        synchronized (COUNTERS) {
+            return List.copyOf(COUNTERS.values());
+        }
+    }
+
+    /**
+     * @return the number of seconds since the metrics were last reset.
+     */
+    public static double elapsedSeconds() {
+        return (System.nanoTime() - resetTime) / 1e9;
+    }
+
+    public static void reset() {
+        timers().forEach(Timer::reset);
+        counters().forEach(Counter::reset);
+        resetTime = System.nanoTime();
+    }
+
+    public static class Counter {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+
+        private Counter(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public void increment() {
+            count.increment();
+        }
+
+        public void add(long n) {
+            count.add(n);
+        }
+
+        public long get() {
+            return count.sum();
+        }
+
+        private void reset() {
+            count.reset();
+        }
+    }
+
+    /**
+     * A latency histogram with logarithmic buckets, each power of two split
+     * into {@link #SUB_BUCKETS} linear sub-buckets. Percentiles are accurate
+     * to within 25%.
+     */
+    public static class Timer {
+        private static final int SUB_BUCKET_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final String name;
+        private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long start() {
+            return System.nanoTime();
+        }
+
+        public void stop(long start) {
+            record(System.nanoTime() - start);
+        }
+
+        public void record(long nanos) {
+            if (nanos < 0) nanos = 0;
+            buckets.incrementAndGet(bucket(nanos));
+            count.increment();
+            total.add(nanos);
+            long m;
+            while (nanos > (m = max.get()) && !max.compareAndSet(m, nanos)) {
+                Thread.onSpinWait();
+            }
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long totalNanos() {
+            return total.sum();
+        }
+
+        public long maxNanos() {
+            return max.get();
+        }
+
+        /**
+         * @param p the percentile, from 0 to 1.
+         * @return the upper bound of the bucket containing the percentile,
+         * in nanoseconds.
+         */
+        public long percentile(double p) {
+            long n = count();
+            if (n == 0) return 0;
+            long target = Math.max(1, (long)Math.ceil(p * n));
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= target) return Math.min(upperBound(i), maxNanos());
+            }
+            return maxNanos();
+        }
+
+        private void reset() {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0);
+            }
+            count.reset();
+            total.reset();
+            max.set(0);
+        }
+
+        private static int bucket(long value) {
+            if (value < SUB_BUCKETS) return (int)value;
+            int exp = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int)(value >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exp - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS) return bucket;
+            int exp = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            int sub = bucket % SUB_BUCKETS;
+            return ((long)(SUB_BUCKETS + sub + 1) << (exp - SUB_BUCKET_BITS)) - 1;
+        }
+    }
+}
@@ -11,54 +11,410 @@
 
 package dev.terminalmc.framework.util;
 
+import dev.terminalmc.framework.Framework;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.util.StackLocatorUtil;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.util.LambdaUtil;
+import org.apache.logging.log4j.util.Supplier;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prefixes messages with the logger name, and for {@link Level#DEBUG} the
+ * simple name of the calling class.
+ *
+ * <p>Prefixed message patterns are cached per pattern, and for
+ * {@link Level#DEBUG} per calling class and pattern, so that each prefix is
+ * only built once. The calling class is looked up on every enabled debug
+ * message, as it cannot be known from the pattern. Arguments are formatted by Log4j, and only if the level is enabled.</p>
+ *
+ * <p>Messages can optionally be handed to a shared ring buffer and written
+ * by a background thread, so that appender I/O does not stall the calling
+ * thread; see {@link #enableAsync}. Messages are formatted before being
+ * buffered, so mutable arguments are captured as they were when logged.
+ * Async mode is enabled at startup by the {@code framework.log.async}
+ * system property, with {@code framework.log.asyncCapacity} and
+ * {@code framework.log.asyncPolicy} (one of {@link OverflowPolicy}).</p>
+ *
+ * <p>Messages at {@link Level#WARN} and above are rate-limited per message
+ * pattern: at most {@link #BURST} per {@link #WINDOW_MS}. Suppressed
+ * repeats are summarized when the window expires, either by the next
+ * message with the same pattern or by {@link #flushSuppressed()}.</p>
+ *
+ * <p>Subsystems log through {@link #child child loggers}, whose levels can
+ * be changed at runtime with {@link #setLevel}. Each logger caches its
+ * effective level, so a disabled message costs a single comparison.</p>
+ */
 public class ModLogger {
+    /**
+     * What to do with a message when the async buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the message. */
+        DROP,
+        /** Wait for space in the buffer. */
+        BLOCK,
+        /**
+         * Under pressure, keep one in {@link #SAMPLE_RATE} messages less
+         * severe than {@link Level#WARN}. Warnings and errors wait for space.
+         */
+        SAMPLE,
+    }
+
+    public static final int DEFAULT_ASYNC_CAPACITY = 4096;
+    public static final int SAMPLE_RATE = 8;
+    private static final long BLOCK_PARK_NANOS = 50_000;
+
+    public static final int BURST = 5;
+    public static final long WINDOW_MS = 10_000;
+    private static final String SUPPRESSED_PATTERN = "Suppressed {} repeats of: {}";
+    private static final List<ModLogger> INSTANCES = new CopyOnWriteArrayList<>();
+
+    private static volatile AsyncLogBuffer asyncBuffer = null;
+    private static volatile OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private static final AtomicLong sampleCounter = new AtomicLong();
+
+    static {
+        if (Boolean.getBoolean("framework.log.async")) {
+            OverflowPolicy policy;
+            try {
+                policy = OverflowPolicy.valueOf(System.getProperty(
+                        "framework.log.asyncPolicy", "DROP").toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                policy = OverflowPolicy.DROP;
+            }
+            enableAsync(Integer.getInteger("framework.log.asyncCapacity",
+                    DEFAULT_ASYNC_CAPACITY), policy);
+        }
+    }
+
+    private static final StackWalker WALKER =
+            StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    // Guards against unbounded growth from non-literal patterns
+    private static final int MAX_CACHED_PATTERNS = 1024;
+
     private final Logger logger;
+    private final String id;
+    private final String prefix;
+    private volatile int threshold;
+    private final Map<String, String> patterns = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<String, String>> debugPatterns = new ConcurrentHashMap<>();
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
 
-    public ModLogger(Logger logger) {
+    private ModLogger(Logger logger, String id) {
         this.logger = logger;
+        this.id = id;
+        this.prefix = "[" + logger.getName() + "]: ";
+        this.threshold = logger.getLevel().intLevel();
+        INSTANCES.add(this);
+    }
+
+    public ModLogger(Logger logger) {
+        this(logger, logger.getName().toLowerCase(Locale.ROOT));
     }
 
     public ModLogger(String name) {
         this(LogManager.getLogger(name));
     }
 
+    /**
+     * @return a logger for a subsystem, which inherits this logger's level
+     * until its own is set.
+     */
+    public ModLogger child(String id) {
+        return new ModLogger(LogManager.getLogger(logger.getName() + "." + id), id);
+    }
+
+    /**
+     * @return the short name used to select this logger in commands.
+     */
+    public String id() {
+        return id;
+    }
+
+    public Level getLevel() {
+        return logger.getLevel();
+    }
+
+    /**
+     * Sets the level of this logger and, unless they have their own, its
+     * children.
+     */
+    public void setLevel(Level level) {
+        Configurator.setLevel(logger.getName(), level);
+        refreshLevels();
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.intLevel() <= threshold;
+    }
+
+    /**
+     * Re-reads the effective level of every logger. Must be called if the
+     * Log4j configuration is changed other than by {@link #setLevel}.
+     */
+    public static void refreshLevels() {
+        for (ModLogger instance : INSTANCES) {
+            instance.threshold = instance.logger.getLevel().intLevel();
+        }
+    }
+
+    public static List<ModLogger> loggers() {
+        return List.copyOf(INSTANCES);
+    }
+
+    public static Optional<ModLogger> byId(String id) {
+        return INSTANCES.stream().filter((l) -> l.id.equals(id)).findFirst();
+    }
+
     private String edit(Level level, String message) {
-        if (level == Level.DEBUG) return String.format("[%s/%s]: %s", logger.getName(),
-                StackLocatorUtil.getCallerClass(4).getSimpleName(), message);
-        return String.format("[%s]: %s", logger.getName(), message);
+        if (level == Level.DEBUG) {
+            Class<?> caller = callerClass();
+            Map<String, String> callerPatterns = debugPatterns.get(caller);
+            if (callerPatterns == null) {
+                callerPatterns = debugPatterns.computeIfAbsent(caller,
+                        (c) -> new ConcurrentHashMap<>());
+            }
+            String pattern = callerPatterns.get(message);
+            if (pattern != null) return pattern;
+            String name = caller == ModLogger.class ? "?" : caller.getSimpleName();
+            pattern = "[" + logger.getName() + "/" + name + "]: " + message;
+            if (callerPatterns.size() < MAX_CACHED_PATTERNS) callerPatterns.put(message, pattern);
+            return pattern;
+        }
+        String pattern = patterns.get(message);
+        if (pattern != null) return pattern;
+        pattern = prefix + message;
+        if (patterns.size() < MAX_CACHED_PATTERNS) patterns.put(message, pattern);
+        return pattern;
+    }
+
+    /**
+     * @return the first class on the stack other than {@link ModLogger}, or
+     * {@link ModLogger} if there is none.
+     */
+    private static Class<?> callerClass() {
+        return WALKER.walk((frames) -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter((c) -> c != ModLogger.class)
+                .findFirst()
+                .orElse(ModLogger.class));
+    }
+
+    /**
+     * Routes all {@link ModLogger}s through a ring buffer of at least
+     * {@code capacity} messages, replacing any existing buffer.
+     */
+    public static synchronized void enableAsync(int capacity, OverflowPolicy policy) {
+        disableAsync();
+        overflowPolicy = policy;
+        asyncBuffer = new AsyncLogBuffer(capacity, Framework.MOD_NAME + "-Log");
+    }
+
+    /**
+     * Writes all buffered messages and returns to synchronous logging.
+     * Called when the client stops.
+     */
+    public static synchronized void disableAsync() {
+        AsyncLogBuffer buffer = asyncBuffer;
+        if (buffer == null) return;
+        asyncBuffer = null;
+        buffer.stop();
+    }
+
+    public static boolean isAsync() {
+        return asyncBuffer != null;
+    }
+
+    /**
+     * Tracks how many times a message pattern was logged in the current
+     * window.
+     */
+    private static final class Limiter {
+        private final Level level;
+        private long windowStart;
+        private int count = 0;
+        private int suppressed = 0;
+
+        private Limiter(Level level, long now) {
+            this.level = level;
+            this.windowStart = now;
+        }
+
+        /**
+         * @return {@code -1} if the message should be suppressed, otherwise
+         * the number of repeats suppressed in the previous window.
+         */
+        private synchronized int acquire(long now) {
+            if (now - windowStart >= WINDOW_MS) {
+                int previous = suppressed;
+                windowStart = now;
+                count = 1;
+                suppressed = 0;
+                return previous;
+            }
+            if (count < BURST) {
+                count++;
+                return 0;
+            }
+            suppressed++;
+            return -1;
+        }
+
+        /**
+         * @return the number of repeats suppressed in an expired window, which
+         * are then forgotten.
+         */
+        private synchronized int expire(long now) {
+            if (suppressed == 0 || now - windowStart < WINDOW_MS) return 0;
+            int previous = suppressed;
+            suppressed = 0;
+            return previous;
+        }
+    }
+
+    /**
+     * @return {@code true} if the message should be logged.
+     */
+    private boolean admit(Level level, String message) {
+        if (!level.isMoreSpecificThan(Level.WARN)) return true;
+        long now = System.currentTimeMillis();
+        Limiter limiter = limiters.get(message);
+        if (limiter == null) {
+            if (limiters.size() >= MAX_CACHED_PATTERNS) return true;
+            limiter = limiters.computeIfAbsent(message, (m) -> new Limiter(level, now));
+        }
+        int previous = limiter.acquire(now);
+        if (previous < 0) return false;
+        if (previous > 0) emit(level, SUPPRESSED_PATTERN, previous, message);
+        return true;
+    }
+
+    /**
+     * Logs a summary for each message pattern with suppressed repeats in an
+     * expired window. Called periodically.
+     */
+    public static void flushSuppressed() {
+        long now = System.currentTimeMillis();
+        for (ModLogger instance : INSTANCES) {
+            instance.limiters.forEach((message, limiter) -> {
+                int suppressed = limiter.expire(now);
+                if (suppressed > 0) instance.emit(limiter.level,
+                        SUPPRESSED_PATTERN, suppressed, message);
+            });
+        }
     }
 
     private void log(Level level, String message, Object... args) {
-        if (!logger.isEnabled(level)) return;
-        logger.log(level, edit(level, message), args);
+        if (level.intLevel() > threshold) return;
+        if (!admit(level, message)) return;
+        emit(level, message, args);
+    }
+
+    private void log(Level level, String message, Supplier<?>... args) {
+        if (level.intLevel() > threshold) return;
+        if (!admit(level, message)) return;
+        AsyncLogBuffer buffer = asyncBuffer;
+        if (buffer == null || buffer.isDrainThread()) {
+            logger.log(level, edit(level, message), args);
+        } else {
+            enqueue(buffer, level, new ParameterizedMessage(
+                    edit(level, message), LambdaUtil.getAll(args)));
+        }
+    }
+
+    private void emit(Level level, String message, Object... args) {
+        AsyncLogBuffer buffer = asyncBuffer;
+        if (buffer == null || buffer.isDrainThread()) {
+            logger.log(level, edit(level, message), args);
+        } else {
+            enqueue(buffer, level, new ParameterizedMessage(edit(level, message), args));
+        }
+    }
+
+    private void enqueue(AsyncLogBuffer buffer, Level level, Message message) {
+        OverflowPolicy policy = overflowPolicy;
+        boolean severe = level.isMoreSpecificThan(Level.WARN);
+        if (policy == OverflowPolicy.SAMPLE && !severe
+                && buffer.size() >= buffer.capacity() / 2
+                && sampleCounter.getAndIncrement() % SAMPLE_RATE != 0) {
+            Metrics.LOG_SAMPLED.increment();
+            return;
+        }
+        // Snapshot the arguments on the calling thread
+        message.getFormattedMessage();
+        AsyncLogBuffer.Event event = new AsyncLogBuffer.Event(logger, level, message);
+        boolean wait = policy == OverflowPolicy.BLOCK
+                || (policy == OverflowPolicy.SAMPLE && severe);
+        while (!buffer.offer(event)) {
+            if (!buffer.isRunning()) {
+                logger.log(level, message);
+                return;
+            }
+            if (!wait) {
+                Metrics.LOG_DROPPED.increment();
+                return;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
     }
 
     public void trace(String message, Object... args){
         log(Level.TRACE, message, args);
     }
 
+    public void trace(String message, Supplier<?>... args){
+        log(Level.TRACE, message, args);
+    }
+
     public void debug(String message, Object... args){
         log(Level.DEBUG, message, args);
     }
 
+    public void debug(String message, Supplier<?>... args){
+        log(Level.DEBUG, message, args);
+    }
+
     public void info(String message, Object... args){
         log(Level.INFO, message, args);
     }
 
+    public void info(String message, Supplier<?>... args){
+        log(Level.INFO, message, args);
+    }
+
     public void warn(String message, Object... args){
         log(Level.WARN, message, args);
     }
 
+    public void warn(String message, Supplier<?>... args){
+        log(Level.WARN, message, args);
+    }
+
     public void error(String message, Object... args){
         log(Level.ERROR, message, args);
     }
 
+    public void error(String message, Supplier<?>... args){
+        log(Level.ERROR, message, args);
+    }
+
     public void fatal(String message, Object... args){
         log(Level.FATAL, message, args);
     }
+
+    public void fatal(String message, Supplier<?>... args){
+        log(Level.FATAL, message, args);
+    }
 }
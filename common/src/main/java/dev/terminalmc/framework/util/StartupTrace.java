@@ -0,0 +1,165 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import com.google.gson.stream.JsonWriter;
+import dev.terminalmc.framework.Framework;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records a timeline of startup spans and markers, and writes it in the
+ * Chrome trace event format for viewing in {@code chrome://tracing} or
+ * Perfetto.
+ *
+ * <p>Timestamps are relative to JVM start. Typical usage is:</p>
+ * <pre>{@code
+ * long start = StartupTrace.begin();
+ * ...
+ * StartupTrace.end("Framework.init", start);
+ * }</pre>
+ *
+ * <p>The trace is written to {@code logs/framework-startup-trace.json} when
+ * the client stops. Tracing can be disabled with
+ * {@code -Dframework.startupTrace=false}.</p>
+ */
+public final class StartupTrace {
+    public static final boolean ENABLED = !"false".equals(
+            System.getProperty("framework.startupTrace"));
+    private static final int MAX_EVENTS = 10_000;
+    private static final Path DIR_PATH = Path.of("logs");
+    private static final String FILE_NAME = Framework.MOD_ID + "-startup-trace.json";
+
+    private static final long ORIGIN_NANOS = System.nanoTime()
+            - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000;
+    private static final List<TraceEvent> EVENTS = new ArrayList<>();
+    private static final Map<Long, String> THREADS = new HashMap<>();
+    private static boolean titleScreenReached = false;
+
+    /**
+     * @param phase {@code X} for a complete span, {@code i} for an instant.
+     */
+    private record TraceEvent(String name, char phase, long startMicros,
+                              long durationMicros, long threadId) {
+    }
+
+    /**
+     * @return a start time for {@link #end}.
+     */
+    public static long begin() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records a span from {@code startNanos} until now.
+     */
+    public static void end(String name, long startNanos) {
+        if (!ENABLED) return;
+        long now = System.nanoTime();
+        add(new TraceEvent(name, 'X', micros(startNanos), (now - startNanos) / 1000,
+                Thread.currentThread().threadId()));
+    }
+
+    /**
+     * Records an instant marker.
+     */
+    public static void mark(String name) {
+        if (!ENABLED) return;
+        add(new TraceEvent(name, 'i', micros(System.nanoTime()), 0,
+                Thread.currentThread().threadId()));
+    }
+
+    /**
+     * Marks the first title screen, and records the total startup span.
+     */
+    public static void onTitleScreen() {
+        if (!ENABLED) return;
+        synchronized (EVENTS) {
+            if (titleScreenReached) return;
+            titleScreenReached = true;
+        }
+        mark("TitleScreen.init");
+        add(new TraceEvent("Startup", 'X', 0, micros(System.nanoTime()),
+                Thread.currentThread().threadId()));
+    }
+
+    private static long micros(long nanos) {
+        return (nanos - ORIGIN_NANOS) / 1000;
+    }
+
+    private static void add(TraceEvent event) {
+        synchronized (EVENTS) {
+            if (EVENTS.size() >= MAX_EVENTS) return;
+            EVENTS.add(event);
+            THREADS.putIfAbsent(event.threadId(), Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * Writes the recorded events. Called when the client stops.
+     */
+    public static void write() {
+        if (!ENABLED) return;
+        List<TraceEvent> events;
+        Map<Long, String> threads;
+        synchronized (EVENTS) {
+            if (EVENTS.isEmpty()) return;
+            events = List.copyOf(EVENTS);
+            threads = Map.copyOf(THREADS);
+        }
+        Path file = DIR_PATH.resolve(FILE_NAME);
+        try {
+            if (!Files.isDirectory(DIR_PATH)) Files.createDirectories(DIR_PATH);
+            try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(
+                    Files.newOutputStream(file), StandardCharsets.UTF_8))) {
+                writer.beginObject();
+                writer.name("displayTimeUnit").value("ms");
+                writer.name("traceEvents").beginArray();
+                for (Map.Entry<Long, String> thread : threads.entrySet()) {
+                    writer.beginObject();
+                    writer.name("name").value("thread_name");
+                    writer.name("ph").value("M");
+                    writer.name("pid").value(1);
+                    writer.name("tid").value(thread.getKey());
+                    writer.name("args").beginObject().name("name").value(thread.getValue()).endObject();
+                    writer.endObject();
+                }
+                for (TraceEvent event : events) {
+                    writer.beginObject();
+                    writer.name("name").value(event.name());
+                    writer.name("cat").value("startup");
+                    writer.name("ph").value(String.valueOf(event.phase()));
+                    writer.name("ts").value(event.startMicros());
+                    if (event.phase() == 'X') writer.name("dur").value(event.durationMicros());
+                    else writer.name("s").value("g");
+                    writer.name("pid").value(1);
+                    writer.name("tid").value(event.threadId());
+                    writer.endObject();
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+            Framework.LOG.info("Wrote startup trace to {}", file);
+        } catch (IOException e) {
+            Framework.LOG.error("Unable to write startup trace", e);
+        }
+    }
+}
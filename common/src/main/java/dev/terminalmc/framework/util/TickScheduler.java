@@ -0,0 +1,173 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import dev.terminalmc.framework.Framework;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Runs delayed, repeating and incremental tasks from the client tick, using a
+ * hashed timing wheel.
+ *
+ * <p>Ready tasks are run in {@link Priority} order. {@link Priority#HIGH}
+ * tasks always run; other tasks are only started while the per-tick time
+ * budget remains, and are otherwise carried over to the next tick.</p>
+ *
+ * <p>Incremental tasks ({@link Step}) are run once per tick until they report
+ * completion, allowing expensive work to be spread across ticks. They are
+ * given the budget deadline, and must stop working when it passes.</p>
+ *
+ * <p>Not thread-safe; tasks must be scheduled from the client thread.</p>
+ */
+public class TickScheduler {
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    @FunctionalInterface
+    public interface Step {
+        /**
+         * Performs a unit of work, stopping once {@link System#nanoTime()}
+         * reaches {@code deadlineNanos}.
+         * @param deadlineNanos the end of this tick's time budget. May have
+         *                      passed already for {@link Priority#HIGH} tasks.
+         * @return {@code true} if the task is complete, or {@code false} if it
+         * should be run again next tick.
+         */
+        boolean run(long deadlineNanos);
+    }
+
+    private final long budgetNanos;
+    private final List<ScheduledTask>[] wheel;
+    private final ArrayDeque<ScheduledTask>[] lanes;
+    private long tick = 0;
+
+    @SuppressWarnings("unchecked")
+    public TickScheduler(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        this.wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) wheel[i] = new ArrayList<>();
+        this.lanes = new ArrayDeque[Priority.values().length];
+        for (int i = 0; i < lanes.length; i++) lanes[i] = new ArrayDeque<>();
+    }
+
+    /**
+     * Runs {@code task} once after {@code delay} ticks.
+     */
+    public ScheduledTask schedule(Priority priority, int delay, Runnable task) {
+        return add(new ScheduledTask(priority, 0, (deadline) -> {
+            task.run();
+            return true;
+        }), delay);
+    }
+
+    /**
+     * Runs {@code task} after {@code delay} ticks, then every {@code interval}
+     * ticks until cancelled.
+     */
+    public ScheduledTask scheduleRepeating(Priority priority, int delay, int interval,
+                                           Runnable task) {
+        if (interval < 1) throw new IllegalArgumentException("Interval must be positive");
+        return add(new ScheduledTask(priority, interval, (deadline) -> {
+            task.run();
+            return true;
+        }), delay);
+    }
+
+    /**
+     * Runs {@code step} once per tick, starting next tick, until it reports
+     * completion.
+     */
+    public ScheduledTask submit(Priority priority, Step step) {
+        return add(new ScheduledTask(priority, 0, step), 0);
+    }
+
+    /**
+     * Advances the wheel and runs ready tasks. Called at the end of each
+     * client tick.
+     */
+    public void tick() {
+        tick++;
+        Iterator<ScheduledTask> iter = wheel[(int)(tick & WHEEL_MASK)].iterator();
+        while (iter.hasNext()) {
+            ScheduledTask task = iter.next();
+            if (task.cancelled) {
+                iter.remove();
+            } else if (task.dueTick <= tick) {
+                iter.remove();
+                lanes[task.priority.ordinal()].add(task);
+            }
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        for (Priority priority : Priority.values()) {
+            ArrayDeque<ScheduledTask> lane = lanes[priority.ordinal()];
+            // Only run tasks which were ready at the start of this tick
+            for (int i = lane.size(); i > 0; i--) {
+                if (priority != Priority.HIGH && System.nanoTime() >= deadline) return;
+                ScheduledTask task = lane.poll();
+                if (task.cancelled) continue;
+                boolean done;
+                try {
+                    done = task.step.run(deadline);
+                } catch (Exception e) {
+                    Framework.TICK_LOG.error("Scheduled task failed", e);
+                    task.cancel();
+                    continue;
+                }
+                if (!done) lane.add(task);
+                else if (task.interval > 0) add(task, task.interval);
+            }
+        }
+    }
+
+    private ScheduledTask add(ScheduledTask task, int delay) {
+        if (delay <= 0) {
+            lanes[task.priority.ordinal()].add(task);
+        } else {
+            task.dueTick = tick + delay;
+            wheel[(int)(task.dueTick & WHEEL_MASK)].add(task);
+        }
+        return task;
+    }
+
+    public static class ScheduledTask {
+        private final Priority priority;
+        private final int interval;
+        private final Step step;
+        private long dueTick;
+        private boolean cancelled = false;
+
+        private ScheduledTask(Priority priority, int interval, Step step) {
+            this.priority = priority;
+            this.interval = interval;
+            this.step = step;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import dev.terminalmc.framework.Framework;
+import net.minecraft.client.Minecraft;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The mod's shared background executor.
+ *
+ * <p>The pool is sized from the available cores and has a bounded queue;
+ * tasks submitted while the queue is full, or after shutdown, complete
+ * exceptionally with a {@link RejectedExecutionException}.</p>
+ *
+ * <p>Results can be handed back to the client thread using
+ * {@link #mainThread()}, for example
+ * {@code WorkerPool.supply(task).thenAcceptAsync(consumer, WorkerPool.mainThread())}.
+ * </p>
+ *
+ * <p>{@link #shutdown()} is called when the client stops, and drains queued
+ * tasks before returning.</p>
+ */
+public final class WorkerPool {
+    public static final int THREADS = Math.max(1,
+            Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    public static final int MAX_QUEUED = 256;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private static final AtomicInteger THREAD_ID = new AtomicInteger();
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+            THREADS, THREADS, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(MAX_QUEUED),
+            (runnable) -> {
+                Thread thread = new Thread(runnable,
+                        Framework.MOD_NAME + "-Worker-" + THREAD_ID.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setUncaughtExceptionHandler((t, e) ->
+                        Framework.LOG.error("Uncaught exception in {}", t.getName(), e));
+                return thread;
+            });
+    static {
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    public static Executor executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * @return an executor which runs tasks on the client thread.
+     */
+    public static Executor mainThread() {
+        return Minecraft.getInstance();
+    }
+
+    public static boolean isShutdown() {
+        return EXECUTOR.isShutdown();
+    }
+
+    public static CompletableFuture<Void> run(Runnable task) {
+        try {
+            return CompletableFuture.runAsync(task, EXECUTOR);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, EXECUTOR);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Stops accepting tasks and waits for queued and running tasks to
+     * complete, interrupting them if they take too long.
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdown();
+        try {
+            if (!EXECUTOR.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                Framework.LOG.warn("Worker pool did not drain within {} ms, interrupting",
+                        SHUTDOWN_TIMEOUT_MS);
+                EXECUTOR.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            EXECUTOR.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
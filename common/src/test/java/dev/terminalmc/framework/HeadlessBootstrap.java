@@ -0,0 +1,54 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Prepares the JVM for tests which run without a game client.
+ *
+ * <p>Only the registries are bootstrapped, which is all that the config
+ * needs. There is no {@code Minecraft} instance, so tests must not use code
+ * paths which hand work back to the client thread, such as
+ * {@code Config.saveAsync()}.</p>
+ */
+public final class HeadlessBootstrap {
+    private static boolean done = false;
+
+    /**
+     * Must be called before the config is first used, as the config
+     * directory is read when the config class is loaded.
+     */
+    public static synchronized void init() {
+        if (done) return;
+        done = true;
+        // Set by the Gradle test task, but not when run from elsewhere
+        if (System.getProperty("framework.config.dir") == null) {
+            try {
+                System.setProperty("framework.config.dir",
+                        Files.createTempDirectory(Framework.MOD_ID + "-test").toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    private HeadlessBootstrap() {
+    }
+}
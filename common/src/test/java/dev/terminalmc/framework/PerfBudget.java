@@ -0,0 +1,89 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A time and allocation budget for one run of a measured operation.
+ *
+ * <p>Budgets are read from the {@code framework.perf.<name>.ms} and
+ * {@code framework.perf.<name>.bytes} system properties, which the Gradle
+ * {@code perfTest} task sets from {@code common/build.gradle}. Time budgets
+ * are multiplied by {@code framework.perf.scale}.</p>
+ *
+ * <p>Tests using budgets are tagged {@link #TAG}, so that they only run in
+ * {@code perfTest} and not in {@code test}.</p>
+ *
+ * @param name the budget name, e.g. {@code config.save.10}.
+ * @param millis the maximum median time of a run.
+ * @param bytes the maximum allocation of the least-allocating run, on the
+ *              calling thread.
+ */
+public record PerfBudget(String name, double millis, long bytes) {
+    public static final String TAG = "perf";
+    private static final ThreadMXBean THREADS =
+            (ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+    public static PerfBudget of(String name) {
+        double scale = Double.parseDouble(System.getProperty("framework.perf.scale", "1"));
+        return new PerfBudget(name, Double.parseDouble(property(name + ".ms")) * scale,
+                Long.parseLong(property(name + ".bytes")));
+    }
+
+    private static String property(String key) {
+        String value = System.getProperty("framework.perf." + key);
+        if (value == null) {
+            throw new IllegalStateException("No budget framework.perf." + key
+                    + ", run the tests via Gradle perfTest or set it with -D");
+        }
+        return value;
+    }
+
+    /**
+     * Runs {@code operation} {@code warmup} times, then measures it
+     * {@code runs} times, and fails if the budget is exceeded. The
+     * measurements are published to {@code reporter}.
+     * @return the result of the last run.
+     */
+    public <T> T assertWithin(TestReporter reporter, int warmup, int runs,
+                              ThrowingSupplier<T> operation) throws Throwable {
+        T result = null;
+        for (int i = 0; i < warmup; i++) {
+            result = operation.get();
+        }
+        long[] times = new long[runs];
+        long minBytes = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long startBytes = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            result = operation.get();
+            times[i] = System.nanoTime() - start;
+            minBytes = Math.min(minBytes, THREADS.getCurrentThreadAllocatedBytes() - startBytes);
+        }
+        Arrays.sort(times);
+        double median = times[runs / 2] / 1e6;
+        String summary = String.format("median %.3f ms (budget %.3f ms), %d bytes (budget %d)",
+                median, millis, minBytes, bytes);
+        reporter.publishEntry(name, summary);
+        assertTrue(median <= millis, () -> name + " time budget exceeded: " + summary);
+        assertTrue(minBytes <= bytes, () -> name + " allocation budget exceeded: " + summary);
+        return result;
+    }
+}
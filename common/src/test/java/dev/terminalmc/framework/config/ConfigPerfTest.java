@@ -0,0 +1,156 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.config;
+
+import dev.terminalmc.framework.Framework;
+import dev.terminalmc.framework.HeadlessBootstrap;
+import dev.terminalmc.framework.PerfBudget;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigPerfTest {
+    @BeforeAll
+    static void bootstrap() {
+        HeadlessBootstrap.init();
+    }
+
+    @BeforeEach
+    void reset() throws Exception {
+        Files.deleteIfExists(file());
+        Config.resetAndSave();
+    }
+
+    @Test
+    void usesOverriddenDirectory() {
+        assertEquals(Path.of(System.getProperty("framework.config.dir")), Config.DIR_PATH);
+    }
+
+    @Tag(PerfBudget.TAG)
+    @ParameterizedTest
+    @ValueSource(ints = {10, 10_000, 100_000})
+    void save(int size, TestReporter reporter) throws Throwable {
+        Config.options().customObjectList = objects(size);
+
+        PerfBudget.of("config.save." + size).assertWithin(reporter,
+                warmup(size), runs(size), () -> {
+                    Config.save();
+                    return null;
+                });
+        // Save failures are only logged
+        Config saved = Config.read(file());
+        assertNotNull(saved);
+        assertEquals(size, saved.options.customObjectList.size());
+    }
+
+    @Tag(PerfBudget.TAG)
+    @ParameterizedTest
+    @ValueSource(ints = {10, 10_000, 100_000})
+    void load(int size, TestReporter reporter) throws Throwable {
+        Config.options().customObjectList = objects(size);
+        Config.save();
+
+        Config loaded = PerfBudget.of("config.load." + size).assertWithin(reporter,
+                warmup(size), runs(size), Config::load);
+        assertEquals(size, loaded.options.customObjectList.size());
+    }
+
+    @Tag(PerfBudget.TAG)
+    @Test
+    void roundTripsEveryOption(TestReporter reporter) throws Throwable {
+        Config.Options options = Config.options();
+        List<Field> fields = Arrays.stream(Config.Options.class.getFields())
+                .filter((f) -> !Modifier.isStatic(f.getModifiers()))
+                .toList();
+        for (Field field : fields) {
+            field.set(options, changed(field, field.get(options)));
+        }
+
+        Config loaded = PerfBudget.of("config.roundTrip").assertWithin(reporter, 5, 20, () -> {
+            Config.save();
+            return Config.load();
+        });
+        for (Field field : fields) {
+            assertEquals(comparable(field.get(options)), comparable(field.get(loaded.options)),
+                    field.getName());
+        }
+    }
+
+    private static Path file() {
+        return Config.DIR_PATH.resolve(Framework.MOD_ID + ".json");
+    }
+
+    private static int warmup(int size) {
+        return size > 10_000 ? 2 : 10;
+    }
+
+    private static int runs(int size) {
+        return size > 10_000 ? 5 : 20;
+    }
+
+    private static List<Config.CustomObject> objects(int size) {
+        List<Config.CustomObject> objects = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            objects.add(new Config.CustomObject("object-" + i,
+                    i % (Config.CustomObject.sizeMax + 1)));
+        }
+        return objects;
+    }
+
+    /**
+     * @return a value of {@code field} which differs from {@code value}.
+     */
+    private static Object changed(Field field, Object value) {
+        Class<?> type = field.getType();
+        if (type == boolean.class) return !(boolean)value;
+        if (type == int.class) return (int)value + 1;
+        if (type == double.class) return (double)value + 1.5;
+        if (type == String.class) return value + "-changed";
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return constants[(((Enum<?>)value).ordinal() + 1) % constants.length];
+        }
+        if (type == List.class && field.getGenericType() instanceof ParameterizedType list) {
+            Object element = list.getActualTypeArguments()[0];
+            if (element == String.class) return List.of("Two", "Three");
+            if (element == Config.CustomObject.class) return objects(3);
+        }
+        return fail("Unsupported option type " + field.getGenericType() + " of " + field.getName());
+    }
+
+    /**
+     * @return {@code value} in a form which can be compared with equals.
+     */
+    private static Object comparable(Object value) {
+        if (value instanceof List<?> list) {
+            return list.stream()
+                    .map((e) -> e instanceof Config.CustomObject o ? o.name + ":" + o.size : e)
+                    .toList();
+        }
+        return value;
+    }
+}
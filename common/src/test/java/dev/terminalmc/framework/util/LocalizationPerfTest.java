@@ -0,0 +1,79 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import dev.terminalmc.framework.HeadlessBootstrap;
+import dev.terminalmc.framework.PerfBudget;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import static dev.terminalmc.framework.util.TranslationKeys.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each measured run makes {@link #CALLS} lookups.
+ */
+@Tag(PerfBudget.TAG)
+class LocalizationPerfTest {
+    private static final int CALLS = 1_000_000;
+    private static final String[] PATHS = {
+            "one", "two", "three", "four", "five", "six", "seven", "eight",
+    };
+    private static final String[] KEYS = {
+            MESSAGE_ASYNC_BUSY, MESSAGE_BENCH_BUSY, MESSAGE_HISTORY_EMPTY, MESSAGE_PERF_RESET,
+            MESSAGE_PROFILER_OVERLAY_ON, MESSAGE_PROFILER_OVERLAY_OFF, KEY_GROUP, KEY_GROUP_EXAMPLE,
+    };
+
+    @BeforeAll
+    static void bootstrap() {
+        HeadlessBootstrap.init();
+    }
+
+    @Test
+    void translationKey(TestReporter reporter) throws Throwable {
+        PerfBudget.of("localization.key").assertWithin(reporter, 5, 20, () -> {
+            int length = 0;
+            for (int i = 0; i < CALLS; i++) {
+                length += Localization.translationKey(PATHS[i & 7]).length();
+            }
+            return length;
+        });
+        assertEquals("framework.one", Localization.translationKey("one"));
+    }
+
+    @Test
+    void domainTranslationKey(TestReporter reporter) throws Throwable {
+        PerfBudget.of("localization.domainKey").assertWithin(reporter, 5, 20, () -> {
+            int length = 0;
+            for (int i = 0; i < CALLS; i++) {
+                length += Localization.translationKey("option", PATHS[i & 7]).length();
+            }
+            return length;
+        });
+        assertEquals("option.framework.one", Localization.translationKey("option", "one"));
+    }
+
+    @Test
+    void translated(TestReporter reporter) throws Throwable {
+        Localization.invalidate();
+        PerfBudget.of("localization.translated").assertWithin(reporter, 5, 20, () -> {
+            int hash = 0;
+            for (int i = 0; i < CALLS; i++) {
+                hash += System.identityHashCode(Localization.translated(KEYS[i & 7]));
+            }
+            return hash;
+        });
+        assertSame(Localization.translated(KEY_GROUP), Localization.translated(KEY_GROUP));
+    }
+}
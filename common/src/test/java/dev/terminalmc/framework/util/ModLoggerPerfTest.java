@@ -0,0 +1,75 @@
+/*
+ * Framework by TerminalMC
+ *
+ * To the extent possible under law, the person who associated CC0 with
+ * Framework has waived all copyright and related or neighboring rights
+ * to Framework.
+ *
+ * You should have received a copy of the CC0 legalcode along with this
+ * work. If not, see <http://creativecommons.org/publicdomain/zero/1.0/>.
+ */
+
+package dev.terminalmc.framework.util;
+
+import dev.terminalmc.framework.PerfBudget;
+import org.apache.logging.log4j.Level;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The test logger writes to a null appender, configured in
+ * {@code log4j2-test.xml}, so that enabled messages are formatted and
+ * dispatched but not printed.
+ */
+@Tag(PerfBudget.TAG)
+class ModLoggerPerfTest {
+    private static final int CALLS = 1_000_000;
+    private static final int ENABLED_CALLS = 100_000;
+    private static final ModLogger LOG = new ModLogger("FrameworkTest");
+    // Passed as the varargs array, so that only the logger's own allocation
+    // is measured
+    private static final Object[] ARGS = {42};
+
+    @BeforeEach
+    void reset() {
+        LOG.setLevel(Level.INFO);
+        assertFalse(ModLogger.isAsync());
+    }
+
+    @Test
+    void disabled(TestReporter reporter) throws Throwable {
+        assertFalse(LOG.isEnabled(Level.DEBUG));
+        PerfBudget.of("logger.disabled").assertWithin(reporter, 5, 20, () -> {
+            for (int i = 0; i < CALLS; i++) {
+                LOG.debug("Disabled message {}", ARGS);
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void enabled(TestReporter reporter) throws Throwable {
+        assertTrue(LOG.isEnabled(Level.INFO));
+        PerfBudget.of("logger.enabled").assertWithin(reporter, 5, 20, () -> {
+            for (int i = 0; i < ENABLED_CALLS; i++) {
+                LOG.info("Enabled message {}", i);
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void rateLimited(TestReporter reporter) throws Throwable {
+        // All but the first few repeats in the window are suppressed
+        PerfBudget.of("logger.limited").assertWithin(reporter, 5, 20, () -> {
+            for (int i = 0; i < CALLS; i++) {
+                LOG.warn("Repeated message {}", ARGS);
+            }
+            return null;
+        });
+    }
+}
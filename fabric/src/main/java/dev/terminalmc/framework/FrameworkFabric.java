@@ -11,27 +11,56 @@
 
 package dev.terminalmc.framework;
 
-import dev.terminalmc.framework.command.Commands;
+import dev.terminalmc.framework.event.FrameworkEvents;
+import dev.terminalmc.framework.util.StartupTrace;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
-import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.ResourceManager;
 
 public class FrameworkFabric implements ClientModInitializer {
     @Override
     public void onInitializeClient() {
+        long start = StartupTrace.begin();
+
+        // Main initialization, which subscribes to the common events
+        Framework.init();
+
         // Keybindings
-        KeyBindingHelper.registerKeyBinding(Framework.EXAMPLE_KEY);
+        FrameworkEvents.REGISTER_KEY_MAPPINGS.invoker().accept(KeyBindingHelper::registerKeyBinding);
 
         // Commands
         ClientCommandRegistrationCallback.EVENT.register(((dispatcher, buildContext) ->
-                new Commands<FabricClientCommandSource>().register(dispatcher, buildContext)));
+                FrameworkEvents.REGISTER_COMMANDS.invoker().accept(dispatcher, buildContext)));
+
+        // Resource reload
+        ResourceManagerHelper.get(PackType.CLIENT_RESOURCES).registerReloadListener(
+                new SimpleSynchronousResourceReloadListener() {
+                    @Override
+                    public ResourceLocation getFabricId() {
+                        return ResourceLocation.fromNamespaceAndPath(Framework.MOD_ID, "localization");
+                    }
+
+                    @Override
+                    public void onResourceManagerReload(ResourceManager manager) {
+                        FrameworkEvents.RESOURCE_RELOAD.invoker().run();
+                    }
+                });
 
         // Tick events
-        ClientTickEvents.END_CLIENT_TICK.register(Framework::onEndTick);
+        ClientTickEvents.END_CLIENT_TICK.register((mc) ->
+                FrameworkEvents.END_TICK.invoker().accept(mc));
 
-        // Main initialization
-        Framework.init();
+        // Lifecycle events
+        ClientLifecycleEvents.CLIENT_STOPPING.register((client) ->
+                FrameworkEvents.CLIENT_STOP.invoker().run());
+
+        StartupTrace.end("FrameworkFabric.onInitializeClient", start);
     }
 }
@@ -11,10 +11,11 @@
 
 package dev.terminalmc.framework;
 
-import dev.terminalmc.framework.command.Commands;
+import dev.terminalmc.framework.event.FrameworkEvents;
 import dev.terminalmc.framework.gui.screen.ConfigScreenProvider;
+import dev.terminalmc.framework.util.StartupTrace;
 import net.minecraft.client.Minecraft;
-import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import net.neoforged.api.distmarker.Dist;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.ModLoadingContext;
@@ -22,25 +23,38 @@ import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.neoforge.client.event.ClientTickEvent;
 import net.neoforged.neoforge.client.event.RegisterClientCommandsEvent;
+import net.neoforged.neoforge.client.event.RegisterClientReloadListenersEvent;
 import net.neoforged.neoforge.client.event.RegisterKeyMappingsEvent;
 import net.neoforged.neoforge.client.gui.IConfigScreenFactory;
+import net.neoforged.neoforge.event.GameShuttingDownEvent;
 
 @Mod(value = Framework.MOD_ID, dist = Dist.CLIENT)
 @EventBusSubscriber(modid = Framework.MOD_ID, bus = EventBusSubscriber.Bus.MOD, value = Dist.CLIENT)
 public class FrameworkNeoForge {
     public FrameworkNeoForge() {
+        long start = StartupTrace.begin();
+
         // Config screen
         ModLoadingContext.get().registerExtensionPoint(IConfigScreenFactory.class,
                 () -> (mc, parent) -> ConfigScreenProvider.getConfigScreen(parent));
 
-        // Main initialization
+        // Main initialization, which subscribes to the common events
         Framework.init();
+
+        StartupTrace.end("FrameworkNeoForge.<init>", start);
     }
 
     // Keybindings
     @SubscribeEvent
     static void registerKeyMappingsEvent(RegisterKeyMappingsEvent event) {
-        event.register(Framework.EXAMPLE_KEY);
+        FrameworkEvents.REGISTER_KEY_MAPPINGS.invoker().accept(event::register);
+    }
+
+    // Resource reload
+    @SubscribeEvent
+    static void registerClientReloadListeners(RegisterClientReloadListenersEvent event) {
+        event.registerReloadListener((ResourceManagerReloadListener)(manager) ->
+                FrameworkEvents.RESOURCE_RELOAD.invoker().run());
     }
 
     @EventBusSubscriber(modid = Framework.MOD_ID, value = Dist.CLIENT)
@@ -48,14 +62,20 @@ public class FrameworkNeoForge {
         // Commands
         @SubscribeEvent
         static void registerClientCommands(RegisterClientCommandsEvent event) {
-            new Commands<CommandSourceStack>().register(
+            FrameworkEvents.REGISTER_COMMANDS.invoker().accept(
                     event.getDispatcher(), event.getBuildContext());
         }
 
         // Tick events
         @SubscribeEvent
         public static void clientTickEvent(ClientTickEvent.Post event) {
-            Framework.onEndTick(Minecraft.getInstance());
+            FrameworkEvents.END_TICK.invoker().accept(Minecraft.getInstance());
+        }
+
+        // Lifecycle events
+        @SubscribeEvent
+        static void gameShuttingDown(GameShuttingDownEvent event) {
+            FrameworkEvents.CLIENT_STOP.invoker().run();
         }
     }
 }
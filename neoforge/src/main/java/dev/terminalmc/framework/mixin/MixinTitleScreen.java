@@ -7,6 +7,7 @@
 package dev.terminalmc.framework.mixin;
 
 import dev.terminalmc.framework.Framework;
+import dev.terminalmc.framework.util.StartupTrace;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.TitleScreen;
 import org.spongepowered.asm.mixin.Mixin;
@@ -19,6 +20,7 @@ public class MixinTitleScreen {
 
     @Inject(method = "init()V", at = @At("HEAD"))
     private void init(CallbackInfo info) {
+        StartupTrace.onTitleScreen();
         Framework.LOG.info("This line is printed by an example mod mixin from NeoForge!");
         Framework.LOG.info("MC Version: {}", Minecraft.getInstance().getVersionType());
     }